@@ -2,8 +2,10 @@ package com.game.global_quiz;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GlobalQuizApplication {
 
 	public static void main(String[] args) {
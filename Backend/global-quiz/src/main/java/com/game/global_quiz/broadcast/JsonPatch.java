@@ -0,0 +1,57 @@
+package com.game.global_quiz.broadcast;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+/**
+ * Computes RFC 6902 patches between two JSON trees. Only add, remove and replace
+ * are emitted; an array whose length changed is replaced as a whole rather than
+ * diffed element by element, which keeps the patch simple to apply on clients.
+ */
+public final class JsonPatch {
+
+    private JsonPatch() {
+    }
+
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode ops = JsonNodeFactory.instance.arrayNode();
+        diff("", source, target, ops);
+        return ops;
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode ops) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            source.fieldNames().forEachRemaining(name -> {
+                if (!target.has(name)) {
+                    ops.addObject().put("op", "remove").put("path", path + "/" + escape(name));
+                }
+            });
+            target.fields().forEachRemaining(field -> {
+                String child = path + "/" + escape(field.getKey());
+                JsonNode before = source.get(field.getKey());
+                if (before == null) {
+                    ops.addObject().put("op", "add").put("path", child).set("value", field.getValue());
+                } else {
+                    diff(child, before, field.getValue(), ops);
+                }
+            });
+            return;
+        }
+        if (source.isArray() && target.isArray() && source.size() == target.size()) {
+            for (int i = 0; i < target.size(); i++) {
+                diff(path + "/" + i, source.get(i), target.get(i), ops);
+            }
+            return;
+        }
+        ops.addObject().put("op", "replace").put("path", path).set("value", target);
+    }
+
+    // JSON Pointer escaping (RFC 6901)
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
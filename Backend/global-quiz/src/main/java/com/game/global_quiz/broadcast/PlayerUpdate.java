@@ -0,0 +1,36 @@
+package com.game.global_quiz.broadcast;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.game.global_quiz.model.Player;
+
+/**
+ * A player's own view of the room, sent only to that player: their submitted
+ * answers (hidden from the public view until the reveal) and their score change
+ * since the previous update.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PlayerUpdate(
+        String sessionId,
+        long version,
+        String playerId,
+        int score,
+        int scoreDelta,
+        String currentAnswer,
+        String wrongAnswerSubmitted) {
+
+    public static PlayerUpdate of(String sessionId, long version, Player player, PlayerUpdate previous) {
+        int delta = previous == null ? 0 : player.getScore() - previous.score();
+        return new PlayerUpdate(sessionId, version, player.getId(), player.getScore(), delta,
+                player.getCurrentAnswer(), player.getWrongAnswerSubmitted());
+    }
+
+    // Whether this carries anything the player has not been sent yet
+    public boolean differsFrom(PlayerUpdate previous) {
+        return previous == null
+                || score != previous.score
+                || !Objects.equals(currentAnswer, previous.currentAnswer)
+                || !Objects.equals(wrongAnswerSubmitted, previous.wrongAnswerSubmitted);
+    }
+}
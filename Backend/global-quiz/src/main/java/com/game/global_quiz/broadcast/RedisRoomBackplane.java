@@ -0,0 +1,191 @@
+package com.game.global_quiz.broadcast;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Relays room frames through Redis pub/sub, one channel per room. A node only
+ * listens on a room's channel while it has local STOMP subscribers for that room,
+ * and skips the frames it published itself.
+ */
+@Component
+@ConditionalOnProperty(name = "game.rooms.backplane.enabled", havingValue = "true")
+public class RedisRoomBackplane implements RoomBackplane, MessageListener, InitializingBean, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(RedisRoomBackplane.class);
+    static final String CHANNEL_PREFIX = "rooms:events:";
+    private static final String TOPIC_PREFIX = "/topic/room/";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    private final byte[] nodeIdBytes = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+    // Local subscriptions to room topics: STOMP session id -> subscription id -> room
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+    // Guarded by itself; a room's channel is listened to while its count is above zero
+    private final Map<String, Integer> subscriberCounts = new HashMap<>();
+    private final Counter published;
+    private final Counter received;
+    private final Timer latency;
+    private volatile Receiver receiver = (roomCode, version, frame) -> { };
+
+    public RedisRoomBackplane(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.container.setConnectionFactory(redisTemplate.getConnectionFactory());
+        this.published = Counter.builder("game.rooms.backplane.frames").tag("direction", "published")
+                .register(meterRegistry);
+        this.received = Counter.builder("game.rooms.backplane.frames").tag("direction", "received")
+                .register(meterRegistry);
+        this.latency = Timer.builder("game.rooms.backplane.latency")
+                .description("Time from publish on one node to delivery on another")
+                .register(meterRegistry);
+        Gauge.builder("game.rooms.backplane.channels", this, RedisRoomBackplane::channelCount).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void setReceiver(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void publish(String roomCode, long version, byte[] frame) {
+        byte[] channel = (CHANNEL_PREFIX + roomCode).getBytes(StandardCharsets.UTF_8);
+        byte[] message = encode(version, System.currentTimeMillis(), frame);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+        published.increment();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.wrap(message.getBody());
+        byte[] origin = new byte[body.getShort()];
+        body.get(origin);
+        if (Arrays.equals(origin, nodeIdBytes)) {
+            return;
+        }
+        long version = body.getLong();
+        long publishedAt = body.getLong();
+        byte[] frame = new byte[body.remaining()];
+        body.get(frame);
+        // Wall clocks of different nodes; good enough to spot a backed-up relay
+        latency.record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+        received.increment();
+        receiver.deliver(channel.substring(CHANNEL_PREFIX.length()), version, frame);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+        String roomCode = destination.substring(TOPIC_PREFIX.length());
+        if (roomCode.endsWith(RoomEncoding.CBOR.suffix())) {
+            // CBOR subscribers are fed from the same relayed frames
+            roomCode = roomCode.substring(0, roomCode.length() - RoomEncoding.CBOR.suffix().length());
+        }
+        subscriptions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), roomCode);
+        addSubscriber(roomCode);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> sessionSubscriptions = subscriptions.get(headers.getSessionId());
+        String roomCode = sessionSubscriptions == null ? null : sessionSubscriptions.remove(headers.getSubscriptionId());
+        if (roomCode != null) {
+            removeSubscriber(roomCode);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> sessionSubscriptions = subscriptions.remove(event.getSessionId());
+        if (sessionSubscriptions != null) {
+            sessionSubscriptions.values().forEach(this::removeSubscriber);
+        }
+    }
+
+    private void addSubscriber(String roomCode) {
+        synchronized (subscriberCounts) {
+            if (subscriberCounts.merge(roomCode, 1, Integer::sum) == 1) {
+                container.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + roomCode));
+                logger.debug("Listening for room {} on the backplane", roomCode);
+            }
+        }
+    }
+
+    private void removeSubscriber(String roomCode) {
+        synchronized (subscriberCounts) {
+            Integer count = subscriberCounts.get(roomCode);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                subscriberCounts.put(roomCode, count - 1);
+                return;
+            }
+            subscriberCounts.remove(roomCode);
+            container.removeMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + roomCode));
+            logger.debug("Stopped listening for room {} on the backplane", roomCode);
+        }
+    }
+
+    private int channelCount() {
+        synchronized (subscriberCounts) {
+            return subscriberCounts.size();
+        }
+    }
+
+    // Origin node, version and publish time ahead of the frame, so receivers can skip their own frames
+    private byte[] encode(long version, long publishedAt, byte[] frame) {
+        return ByteBuffer.allocate(Short.BYTES + nodeIdBytes.length + 2 * Long.BYTES + frame.length)
+                .putShort((short) nodeIdBytes.length)
+                .put(nodeIdBytes)
+                .putLong(version)
+                .putLong(publishedAt)
+                .put(frame)
+                .array();
+    }
+}
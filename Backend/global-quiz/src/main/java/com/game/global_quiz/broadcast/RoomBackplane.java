@@ -0,0 +1,19 @@
+package com.game.global_quiz.broadcast;
+
+/**
+ * Relays room frames between app nodes, so subscribers connected to one node see
+ * updates produced on another.
+ */
+public interface RoomBackplane {
+
+    // Hands a frame sent locally to the other nodes
+    void publish(String roomCode, long version, byte[] frame);
+
+    // Where frames published by other nodes are delivered on this node
+    void setReceiver(Receiver receiver);
+
+    @FunctionalInterface
+    interface Receiver {
+        void deliver(String roomCode, long version, byte[] frame);
+    }
+}
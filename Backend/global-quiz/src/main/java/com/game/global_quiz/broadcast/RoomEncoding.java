@@ -0,0 +1,42 @@
+package com.game.global_quiz.broadcast;
+
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Wire encodings for room frames. A connection picks one with the {@code room-encoding}
+ * CONNECT header and JSON is the default. CBOR frames go out on the room destinations
+ * with a {@code /cbor} suffix as binary WebSocket frames, which SockJS cannot carry,
+ * so CBOR is only honoured on the native WebSocket endpoint.
+ */
+public enum RoomEncoding {
+    JSON("", MimeTypeUtils.APPLICATION_JSON),
+    // Spring only writes binary WebSocket frames for octet-stream payloads
+    CBOR("/cbor", MimeTypeUtils.APPLICATION_OCTET_STREAM);
+
+    public static final String CONNECT_HEADER = "room-encoding";
+
+    private final String suffix;
+    private final MimeType contentType;
+
+    RoomEncoding(String suffix, MimeType contentType) {
+        this.suffix = suffix;
+        this.contentType = contentType;
+    }
+
+    public String topic(String roomCode) {
+        return "/topic/room/" + roomCode + suffix;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public MimeType contentType() {
+        return contentType;
+    }
+
+    public static RoomEncoding fromHeader(String value) {
+        return "cbor".equalsIgnoreCase(value) ? CBOR : JSON;
+    }
+}
@@ -0,0 +1,143 @@
+package com.game.global_quiz.broadcast;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Encodes a room state once per version. Broadcasts, snapshot replies and REST
+ * reads of the same (sessionId, version) share the same tree and bytes: the
+ * redacted {@link RoomView}, in each {@link RoomEncoding} that is asked for.
+ * Players get their own answers separately, as a {@link PlayerUpdate}.
+ * Only the newest version of each room is kept.
+ */
+@Component
+public class RoomPayloadCache {
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final Map<String, RoomPayload> payloads = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public RoomPayloadCache(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.hits = Counter.builder("game.rooms.payloads").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("game.rooms.payloads").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("game.rooms.payloads.size", payloads, Map::size).register(meterRegistry);
+    }
+
+    // Callers must only pass states as written to (or read from) the store, so a version names one state
+    public RoomPayload get(GameSession session) {
+        RoomPayload cached = payloads.get(session.getSessionId());
+        if (cached != null && cached.version() == session.getVersion()) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        RoomPayload encoded = new RoomPayload(session.getVersion(), objectMapper.valueToTree(RoomView.of(session)));
+        payloads.merge(session.getSessionId(), encoded,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        return encoded;
+    }
+
+    public void evict(String sessionId) {
+        payloads.remove(sessionId);
+    }
+
+    public byte[] encode(Object value) {
+        return encode(value, RoomEncoding.JSON);
+    }
+
+    public byte[] encode(Object value, RoomEncoding encoding) {
+        try {
+            return mapper(encoding).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode room payload", e);
+        }
+    }
+
+    // Re-encodes a JSON frame, e.g. one relayed from another node
+    public byte[] transcode(byte[] jsonFrame, RoomEncoding encoding) {
+        if (encoding == RoomEncoding.JSON) {
+            return jsonFrame;
+        }
+        try {
+            return encode(objectMapper.readTree(jsonFrame), encoding);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not decode room frame", e);
+        }
+    }
+
+    private ObjectMapper mapper(RoomEncoding encoding) {
+        return encoding == RoomEncoding.CBOR ? cborMapper : objectMapper;
+    }
+
+    /**
+     * One encoded room state. The JSON body and the snapshot frame are produced
+     * on first use and then shared.
+     */
+    public final class RoomPayload {
+        private final long version;
+        private final JsonNode publicTree;
+        private volatile byte[] json;
+        private volatile byte[] snapshotFrame;
+        private volatile byte[] cborSnapshotFrame;
+
+        private RoomPayload(long version, JsonNode publicTree) {
+            this.version = version;
+            this.publicTree = publicTree;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public JsonNode publicTree() {
+            return publicTree;
+        }
+
+        // The public view as a REST body
+        public byte[] json() {
+            byte[] bytes = json;
+            if (bytes == null) {
+                bytes = encode(publicTree);
+                json = bytes;
+            }
+            return bytes;
+        }
+
+        public byte[] snapshotFrame() {
+            return snapshotFrame(RoomEncoding.JSON);
+        }
+
+        public byte[] snapshotFrame(RoomEncoding encoding) {
+            if (encoding == RoomEncoding.CBOR) {
+                byte[] bytes = cborSnapshotFrame;
+                if (bytes == null) {
+                    bytes = encode(RoomUpdate.snapshot(version, publicTree), encoding);
+                    cborSnapshotFrame = bytes;
+                }
+                return bytes;
+            }
+            byte[] bytes = snapshotFrame;
+            if (bytes == null) {
+                bytes = encode(RoomUpdate.snapshot(version, publicTree));
+                snapshotFrame = bytes;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.game.global_quiz.broadcast;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Frame sent on a room topic: either the full room state, or the patch that turns
+ * the state at {@code baseVersion} into the state at {@code version}. Clients that
+ * hold a different version than {@code baseVersion} ask for a snapshot instead.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomUpdate(Type type, long version, Long baseVersion, JsonNode state, JsonNode ops) {
+
+    public enum Type {
+        SNAPSHOT,
+        PATCH
+    }
+
+    public static RoomUpdate snapshot(long version, JsonNode state) {
+        return new RoomUpdate(Type.SNAPSHOT, version, null, state, null);
+    }
+
+    public static RoomUpdate patch(long baseVersion, long version, JsonNode ops) {
+        return new RoomUpdate(Type.PATCH, version, baseVersion, null, ops);
+    }
+}
@@ -0,0 +1,78 @@
+package com.game.global_quiz.broadcast;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+
+/**
+ * What every subscriber of a room may see. Players' submitted answers are left
+ * out until the answers are revealed; property names match {@link GameSession} so
+ * clients can read either.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomView(
+        String sessionId,
+        long version,
+        GameSession.GameStatus status,
+        GameSession.QuestionPhase currentPhase,
+        int currentRound,
+        int totalRounds,
+        int maxPlayers,
+        int timePerQuestion,
+        String language,
+        List<Long> chosenCategoryIds,
+        Long selectedCategory,
+        Integer selectedDifficulty,
+        Long currentQuestionId,
+        List<String> finalOptions,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        List<PlayerView> players) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record PlayerView(
+            String id,
+            String username,
+            String avatarUrl,
+            boolean host,
+            boolean ready,
+            int score,
+            boolean hasAnswered,
+            String currentAnswer,
+            String wrongAnswerSubmitted,
+            boolean away) {
+    }
+
+    public static RoomView of(GameSession session) {
+        boolean revealAnswers = answersRevealed(session.getCurrentPhase());
+        List<PlayerView> players = session.getPlayers().stream()
+                .map(player -> playerView(player, revealAnswers))
+                .toList();
+        return new RoomView(session.getSessionId(), session.getVersion(), session.getStatus(),
+                session.getCurrentPhase(), session.getCurrentRound(), session.getTotalRounds(),
+                session.getMaxPlayers(), session.getTimePerQuestion(), session.getLanguage(),
+                session.getChosenCategoryIds(), session.getSelectedCategory(), session.getSelectedDifficulty(),
+                session.getCurrentQuestionId(), session.getFinalOptions(), session.getStartTime(),
+                session.getEndTime(), players);
+    }
+
+    // A player for lists outside the room view, such as the leaderboard
+    public static PlayerView withoutAnswers(Player player) {
+        return playerView(player, false);
+    }
+
+    public static boolean answersRevealed(GameSession.QuestionPhase phase) {
+        return phase == GameSession.QuestionPhase.ANSWERS_REVEAL || phase == GameSession.QuestionPhase.SCORE_DISPLAY;
+    }
+
+    private static PlayerView playerView(Player player, boolean revealAnswers) {
+        return new PlayerView(player.getId(), player.getUsername(), player.getAvatarUrl(), player.isHost(),
+                player.isReady(), player.getScore(), player.isHasAnswered(),
+                revealAnswers ? player.getCurrentAnswer() : null,
+                revealAnswers ? player.getWrongAnswerSubmitted() : null,
+                player.isAway());
+    }
+}
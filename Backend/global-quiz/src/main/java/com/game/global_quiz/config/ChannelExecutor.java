@@ -0,0 +1,107 @@
+package com.game.global_quiz.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executor for one STOMP message channel: either a fixed pool of platform threads
+ * with a bounded queue, or a virtual thread per message with a bound on messages in
+ * flight. When it is full the submitting thread handles the message itself, which
+ * pushes back on whoever is sending instead of letting the backlog grow.
+ */
+public final class ChannelExecutor implements Executor {
+    private final ExecutorService executor;
+    // Only set for virtual threads; a thread pool is bounded by its queue
+    private final int inFlightLimit;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer queueWait;
+    private final Timer taskTime;
+    private final Counter overflow;
+
+    private ChannelExecutor(String channel, String threadPrefix, boolean virtualThreads, int threads,
+                            int queueCapacity, MeterRegistry meterRegistry) {
+        if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadPrefix + "-", 1).factory());
+            this.inFlightLimit = queueCapacity;
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofPlatform().name(threadPrefix + "-", 1).daemon(true).factory(),
+                    (task, rejectedBy) -> runOnCaller(task, rejectedBy));
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+            this.inFlightLimit = 0;
+        }
+        this.queueWait = Timer.builder("game.websocket.channel.wait")
+                .description("Time a message waited for a channel thread")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        this.taskTime = Timer.builder("game.websocket.channel.tasks")
+                .description("Time spent handling a channel message")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        this.overflow = Counter.builder("game.websocket.channel.overflow")
+                .description("Messages handled on the sending thread because the channel was full")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("game.websocket.channel.queued", queued, AtomicInteger::get)
+                .tag("channel", channel).register(meterRegistry);
+        Gauge.builder("game.websocket.channel.active", active, AtomicInteger::get)
+                .tag("channel", channel).register(meterRegistry);
+    }
+
+    public static ChannelExecutor threadPool(String channel, String threadPrefix, int threads, int queueCapacity,
+                                             MeterRegistry meterRegistry) {
+        return new ChannelExecutor(channel, threadPrefix, false, threads, queueCapacity, meterRegistry);
+    }
+
+    // At most maxInFlight messages are queued or running at once
+    public static ChannelExecutor virtualThreads(String channel, String threadPrefix, int maxInFlight,
+                                                 MeterRegistry meterRegistry) {
+        return new ChannelExecutor(channel, threadPrefix, true, 0, maxInFlight, meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+        Runnable measured = () -> {
+            queued.decrementAndGet();
+            queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            active.incrementAndGet();
+            try {
+                taskTime.record(task);
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+        if (inFlightLimit > 0 && queued.get() + active.get() > inFlightLimit) {
+            overflow.increment();
+            measured.run();
+            return;
+        }
+        executor.execute(measured);
+    }
+
+    private void runOnCaller(Runnable task, ThreadPoolExecutor pool) {
+        if (!pool.isShutdown()) {
+            overflow.increment();
+            task.run();
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,210 @@
+package com.game.global_quiz.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Outbound queue for one WebSocket session. Frames are queued and written by a
+ * separate drainer, so a slow client never blocks the thread sending to it. While a
+ * room frame ({@code /topic/room/...}) is still queued, a newer frame for the same
+ * room replaces it: a stalled client gets the latest state, not a backlog of stale
+ * ones. If that skips a patch, the client sees the version gap and asks for a
+ * snapshot. A session whose oldest unsent frame is older than the lag limit, or
+ * whose queue outgrows the buffer limit, is closed.
+ */
+class LatestStateSessionDecorator extends WebSocketSessionDecorator {
+    private static final Logger logger = LoggerFactory.getLogger(LatestStateSessionDecorator.class);
+    private static final String ROOM_TOPIC = "/topic/room/";
+
+    private final Policy policy;
+    private final Deque<Pending> queue = new ArrayDeque<>();
+    private final Map<String, Pending> queuedRooms = new HashMap<>();
+    private long queuedBytes;
+    private boolean draining;
+    private boolean closed;
+
+    private LatestStateSessionDecorator(WebSocketSession delegate, Policy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        String room = roomDestination(message);
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            Pending oldest = queue.peekFirst();
+            if (oldest != null && now - oldest.queuedAt > policy.maxLagMillis) {
+                throw limitExceeded("Outbound lag of " + (now - oldest.queuedAt) + " ms");
+            }
+            Pending queued = room == null ? null : queuedRooms.get(room);
+            if (queued != null) {
+                queuedBytes += message.getPayloadLength() - queued.message.getPayloadLength();
+                queued.message = message;
+                policy.collapsed.increment();
+            } else {
+                Pending pending = new Pending(room, message, now);
+                queue.addLast(pending);
+                queuedBytes += message.getPayloadLength();
+                if (room != null) {
+                    queuedRooms.put(room, pending);
+                }
+            }
+            if (queuedBytes > policy.bufferSizeLimit) {
+                throw limitExceeded("Outbound buffer of " + queuedBytes + " bytes");
+            }
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        policy.executor.execute(this::drain);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            queuedRooms.clear();
+            queuedBytes = 0;
+        }
+        super.close(status);
+    }
+
+    private void drain() {
+        while (true) {
+            Pending next;
+            synchronized (this) {
+                next = queue.pollFirst();
+                if (next == null || closed) {
+                    draining = false;
+                    return;
+                }
+                if (next.room != null) {
+                    queuedRooms.remove(next.room);
+                }
+                queuedBytes -= next.message.getPayloadLength();
+            }
+            policy.lag.record(System.currentTimeMillis() - next.queuedAt, TimeUnit.MILLISECONDS);
+            try {
+                getDelegate().sendMessage(next.message);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Closing WebSocket session {} after a failed send: {}", getId(), e.getMessage());
+                closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        }
+    }
+
+    // Closing from here makes the STOMP handler close the session and clean up after it
+    private SessionLimitExceededException limitExceeded(String reason) {
+        closed = true;
+        queue.clear();
+        queuedRooms.clear();
+        queuedBytes = 0;
+        policy.disconnected.increment();
+        logger.debug("{} for WebSocket session {}, closing it", reason, getId());
+        return new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        try {
+            close(status);
+        } catch (IOException e) {
+            logger.debug("Error closing WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    // The destination of a STOMP MESSAGE frame for a room topic, or null for anything else
+    static String roomDestination(WebSocketMessage<?> message) {
+        String frame;
+        if (message instanceof TextMessage text) {
+            frame = text.getPayload();
+        } else if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().duplicate();
+            byte[] head = new byte[Math.min(payload.remaining(), 512)];
+            payload.get(head);
+            frame = new String(head, StandardCharsets.ISO_8859_1);
+        } else {
+            return null;
+        }
+        if (!frame.startsWith("MESSAGE\n")) {
+            return null;
+        }
+        int headersEnd = frame.indexOf("\n\n");
+        int start = frame.indexOf("\ndestination:" + ROOM_TOPIC);
+        if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+            return null;
+        }
+        start += "\ndestination:".length();
+        int end = frame.indexOf('\n', start);
+        return end < 0 ? null : frame.substring(start, end);
+    }
+
+    private static final class Pending {
+        private final String room;
+        private WebSocketMessage<?> message;
+        private final long queuedAt;
+
+        private Pending(String room, WebSocketMessage<?> message, long queuedAt) {
+            this.room = room;
+            this.message = message;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    /**
+     * Limits and meters shared by every session's queue.
+     */
+    static final class Policy {
+        private final long maxLagMillis;
+        private final long bufferSizeLimit;
+        private final Executor executor;
+        private final Counter collapsed;
+        private final Counter disconnected;
+        private final Timer lag;
+
+        Policy(long maxLagMillis, long bufferSizeLimit, Executor executor, MeterRegistry meterRegistry) {
+            this.maxLagMillis = maxLagMillis;
+            this.bufferSizeLimit = bufferSizeLimit;
+            this.executor = executor;
+            this.collapsed = Counter.builder("game.websocket.frames.collapsed")
+                    .description("Queued room frames replaced by a newer frame for the same room")
+                    .register(meterRegistry);
+            this.disconnected = Counter.builder("game.websocket.sessions.lagging")
+                    .description("Sessions closed for falling too far behind")
+                    .register(meterRegistry);
+            this.lag = Timer.builder("game.websocket.outbound.lag")
+                    .description("Time a frame waited in a session's outbound queue")
+                    .register(meterRegistry);
+        }
+
+        WebSocketSession decorate(WebSocketSession session) {
+            return new LatestStateSessionDecorator(session, this);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.game.global_quiz.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.PlayedQuestions;
+import com.game.global_quiz.session.GameSessionRedisSerializer;
+import com.game.global_quiz.session.MeteredSessionSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,15 +15,19 @@ import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactor
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.SocketOptions;
 import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
@@ -40,6 +47,14 @@ public class RedisConfig {
     
     @Value("${spring.redis.ssl:true}")
     private boolean useSsl;
+
+    // Client-side caching invalidations arrive as push messages, which need RESP3
+    @Value("${game.session.near-cache.enabled:false}")
+    private boolean nearCacheEnabled;
+
+    // json (default) or binary; the binary codec still reads JSON values written earlier
+    @Value("${game.session.codec:json}")
+    private String sessionCodec;
     
     // Removed @Bean from redisObjectMapper() to prevent it from being a global bean
     public ObjectMapper createRedisObjectMapper() {
@@ -55,6 +70,7 @@ public class RedisConfig {
                                             .allowIfBaseType(Object.class)
                                             .build();
         mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        mapper.addMixIn(GameSession.class, StoredGameSession.class);
 
         return mapper;
     }
@@ -73,7 +89,7 @@ public class RedisConfig {
             .socketOptions(SocketOptions.builder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build())
-            .protocolVersion(ProtocolVersion.RESP2)
+            .protocolVersion(nearCacheEnabled ? ProtocolVersion.RESP3 : ProtocolVersion.RESP2)
             .build();
             
         LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
@@ -87,19 +103,43 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisTemplate<String, GameSession> redisTemplate(RedisConnectionFactory connectionFactory) {
+    @SuppressWarnings("unchecked")
+    public RedisSerializer<GameSession> gameSessionSerializer() {
+        // Create a custom ObjectMapper instance specifically for Redis serialization
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
+        if ("binary".equalsIgnoreCase(sessionCodec)) {
+            logger.info("Using binary GameSession codec");
+            return new GameSessionRedisSerializer(jsonSerializer);
+        }
+        return (RedisSerializer<GameSession>) (RedisSerializer<?>) jsonSerializer;
+    }
+
+    @Bean
+    public RedisTemplate<String, GameSession> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                            RedisSerializer<GameSession> gameSessionSerializer,
+                                                            MeterRegistry meterRegistry) {
         logger.info("Creating Redis template");
         RedisTemplate<String, GameSession> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
         
-        // Create a custom ObjectMapper instance specifically for Redis serialization
-        ObjectMapper redisObjectMapper = createRedisObjectMapper();
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
-        template.setValueSerializer(jsonSerializer);
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
+        template.setValueSerializer(new MeteredSessionSerializer(gameSessionSerializer, meterRegistry));
         template.setHashValueSerializer(jsonSerializer);
         
         logger.info("Redis template created successfully");
         return template;
     }
-} 
\ No newline at end of file
+
+    // Server-side session state that clients never see but the stored blob must keep. Lombok
+    // copies the field's @JsonIgnore onto the accessors, so they are the ones re-enabled here.
+    private abstract static class StoredGameSession {
+        @JsonIgnore(false)
+        @JsonProperty
+        abstract PlayedQuestions getPlayedQuestions();
+
+        @JsonIgnore(false)
+        @JsonProperty
+        abstract void setPlayedQuestions(PlayedQuestions playedQuestions);
+    }
+}
@@ -1,12 +1,15 @@
 package com.game.global_quiz.config;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+// Only fail fast on Redis when sessions actually live there
 @Component
+@ConditionalOnProperty(name = "game.session.store", havingValue = "redis", matchIfMissing = true)
 public class RedisConnectionTest implements CommandLineRunner {
     private static final Logger logger = LoggerFactory.getLogger(RedisConnectionTest.class);
     private final RedisConnectionFactory redisConnectionFactory;
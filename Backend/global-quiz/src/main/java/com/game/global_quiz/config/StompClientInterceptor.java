@@ -0,0 +1,70 @@
+package com.game.global_quiz.config;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+import com.game.global_quiz.broadcast.RoomEncoding;
+import com.game.global_quiz.service.PlayerTokenService;
+
+/**
+ * Applies what a client asked for at CONNECT to the rest of its session:
+ * the {@code playerId} header, with the {@code playerToken} issued for it when the
+ * player joined, names the STOMP user, so {@code /user/queue/room} reaches that
+ * player, and {@code room-encoding: cbor} moves its room
+ * subscriptions to the CBOR destinations. Clients keep subscribing to the
+ * usual {@code /topic/room/{id}} and {@code /app/room/{id}}.
+ */
+class StompClientInterceptor implements ChannelInterceptor {
+    // Set by the handshake of endpoints that carry binary frames
+    static final String NATIVE_WEBSOCKET = "nativeWebSocket";
+    private static final String ENCODING = "roomEncoding";
+    private static final Pattern ROOM_DESTINATION = Pattern.compile("/(topic|app)/room/[^/]+");
+
+    private final PlayerTokenService playerTokens;
+
+    StompClientInterceptor(PlayerTokenService playerTokens) {
+        this.playerTokens = playerTokens;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String playerId = accessor.getFirstNativeHeader("playerId");
+            // Player ids are public in the room view; without a valid token the session stays anonymous
+            if (playerTokens.verify(playerId, accessor.getFirstNativeHeader("playerToken"))) {
+                accessor.setUser(new PlayerPrincipal(playerId));
+            }
+            RoomEncoding encoding = RoomEncoding.fromHeader(accessor.getFirstNativeHeader(RoomEncoding.CONNECT_HEADER));
+            if (attributes != null && attributes.containsKey(NATIVE_WEBSOCKET)) {
+                attributes.put(ENCODING, encoding);
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())
+                && attributes != null && attributes.get(ENCODING) == RoomEncoding.CBOR) {
+            String destination = accessor.getDestination();
+            if (destination != null && ROOM_DESTINATION.matcher(destination).matches()) {
+                accessor.setDestination(destination + RoomEncoding.CBOR.suffix());
+            }
+        }
+        return message;
+    }
+
+    private record PlayerPrincipal(String playerId) implements Principal {
+        @Override
+        public String getName() {
+            return playerId;
+        }
+    }
+}
@@ -1,19 +1,70 @@
 package com.game.global_quiz.config;
 
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import com.game.global_quiz.service.PlayerTokenService;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSocketMessageBroker
-public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer, DisposableBean {
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024; // 512KB
+    private final ChannelExecutor inboundExecutor;
+    private final ChannelExecutor outboundExecutor;
+    private final ChannelExecutor brokerExecutor;
+    private final ExecutorService sessionWriters = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ws-writer-", 1).factory());
+    private final LatestStateSessionDecorator.Policy outboundPolicy;
+    private final PlayerTokenService playerTokens;
+
+    public WebSocketConfig(Environment environment, MeterRegistry meterRegistry, PlayerTokenService playerTokens) {
+        this.playerTokens = playerTokens;
+        this.inboundExecutor = channelExecutor(environment, meterRegistry, "inbound", "clientInboundChannel");
+        this.outboundExecutor = channelExecutor(environment, meterRegistry, "outbound", "clientOutboundChannel");
+        this.brokerExecutor = channelExecutor(environment, meterRegistry, "broker", "brokerChannel");
+        this.outboundPolicy = new LatestStateSessionDecorator.Policy(
+                environment.getProperty("game.websocket.outbound.max-lag-ms", Long.class, 5_000L),
+                SEND_BUFFER_SIZE_LIMIT, sessionWriters, meterRegistry);
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        // /queue carries per-user replies such as command acks (/user/queue/...)
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        // Room patches build on the previous frame, so a session must get them in order
+        config.setPreservePublishOrder(true);
+        config.configureBrokerChannel().executor(brokerExecutor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(outboundExecutor);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.executor(inboundExecutor);
+        registration.interceptors(new StompClientInterceptor(playerTokens));
     }
 
     @Override
@@ -23,12 +74,56 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS()
                 .setHeartbeatTime(25000)
                 .setDisconnectDelay(5000);
+        // Plain WebSocket for clients that want binary (CBOR) room frames
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(new HandshakeInterceptor() {
+                    @Override
+                    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                        attributes.put(StompClientInterceptor.NATIVE_WEBSOCKET, true);
+                        return true;
+                    }
+
+                    @Override
+                    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                               WebSocketHandler wsHandler, Exception exception) {
+                    }
+                });
     }
 
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         registration.setMessageSizeLimit(64 * 1024) // 64KB
-                   .setSendBufferSizeLimit(512 * 1024) // 512KB
+                   .setSendBufferSizeLimit(SEND_BUFFER_SIZE_LIMIT)
                    .setSendTimeLimit(20000); // 20 seconds
+        // Each session writes through its own latest-state-wins queue, see LatestStateSessionDecorator
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(outboundPolicy.decorate(session));
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        inboundExecutor.shutdown();
+        outboundExecutor.shutdown();
+        brokerExecutor.shutdown();
+        sessionWriters.shutdown();
+    }
+
+    // game.websocket.<channel>.threads / .queue-capacity / .virtual-threads
+    private static ChannelExecutor channelExecutor(Environment environment, MeterRegistry meterRegistry,
+                                                   String channel, String threadPrefix) {
+        String prefix = "game.websocket." + channel + ".";
+        int queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class, 10_000);
+        if (environment.getProperty(prefix + "virtual-threads", Boolean.class, false)) {
+            return ChannelExecutor.virtualThreads(channel, threadPrefix, queueCapacity, meterRegistry);
+        }
+        int threads = environment.getProperty(prefix + "threads", Integer.class,
+                Runtime.getRuntime().availableProcessors() * 2);
+        return ChannelExecutor.threadPool(channel, threadPrefix, threads, queueCapacity, meterRegistry);
     }
-} 
\ No newline at end of file
+}
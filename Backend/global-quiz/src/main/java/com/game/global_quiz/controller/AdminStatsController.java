@@ -6,6 +6,7 @@ import com.game.global_quiz.service.GameService;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,4 +31,9 @@ public class AdminStatsController {
         stats.put("activeSessions", gameService.getActiveSessionCount());
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/rooms")
+    public ResponseEntity<Map<String, Instant>> getActiveRooms(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(gameService.getActiveRooms(limit));
+    }
 } 
\ No newline at end of file
@@ -1,7 +1,8 @@
 package com.game.global_quiz.controller;
 
+import com.game.global_quiz.broadcast.RoomPayloadCache;
+import com.game.global_quiz.broadcast.RoomView;
 import com.game.global_quiz.model.GameSession;
-import com.game.global_quiz.model.Player;
 import com.game.global_quiz.service.GameService;
 import com.game.global_quiz.service.PlayerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -22,10 +24,12 @@ import java.util.HashMap;
 public class GameController {
     private final GameService gameService;
     private final PlayerService playerService;
+    private final RoomPayloadCache payloadCache;
 
-    public GameController(GameService gameService, PlayerService playerService) {
+    public GameController(GameService gameService, PlayerService playerService, RoomPayloadCache payloadCache) {
         this.gameService = gameService;
         this.playerService = playerService;
+        this.payloadCache = payloadCache;
     }
 
     @Operation(
@@ -35,7 +39,7 @@ public class GameController {
     @ApiResponse(
         responseCode = "200",
         description = "Game started successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(
         responseCode = "400",
@@ -61,7 +65,7 @@ public class GameController {
             }
             
             gameService.startGame(sessionId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -84,16 +88,19 @@ public class GameController {
     @ApiResponse(
         responseCode = "200",
         description = "Game state retrieved successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Game session not found")
     @GetMapping("/{sessionId}/state")
-    public ResponseEntity<GameSession> getGameState(
+    public ResponseEntity<byte[]> getGameState(
         @Parameter(description = "Session ID of the game", required = true)
         @PathVariable String sessionId
     ) {
         GameSession session = gameService.getSession(sessionId);
-        return session != null ? ResponseEntity.ok(session) : ResponseEntity.notFound().build();
+        // The public view, encoded once per version; players' own answers come over /topic/room/{id}/me
+        return session != null
+                ? ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(payloadCache.get(session).json())
+                : ResponseEntity.notFound().build();
     }
 
     @Operation(
@@ -103,11 +110,11 @@ public class GameController {
     @ApiResponse(
         responseCode = "200",
         description = "Answer processed successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Game session not found")
     @PostMapping("/{sessionId}/answer")
-    public ResponseEntity<GameSession> submitAnswer(
+    public ResponseEntity<RoomView> submitAnswer(
         @Parameter(description = "Session ID of the game", required = true)
         @PathVariable String sessionId,
         @Parameter(description = "Player ID", required = true)
@@ -122,7 +129,7 @@ public class GameController {
             } else if (session.getCurrentPhase() == GameSession.QuestionPhase.MCQ_ANSWERING) {
                 gameService.submitMCQAnswer(sessionId, playerId, answer);
             }
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         }
         return ResponseEntity.notFound().build();
     }
@@ -134,18 +141,18 @@ public class GameController {
     @ApiResponse(
         responseCode = "200",
         description = "Game ended successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Game session not found")
     @PostMapping("/{sessionId}/end")
-    public ResponseEntity<GameSession> endGame(
+    public ResponseEntity<RoomView> endGame(
         @Parameter(description = "Session ID of the game", required = true)
         @PathVariable String sessionId
     ) {
         GameSession session = gameService.getSession(sessionId);
         if (session != null) {
             gameService.endGame(session);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         }
         return ResponseEntity.notFound().build();
     }
@@ -183,8 +190,11 @@ public class GameController {
     }
 
     @GetMapping("/session/{sessionId}/leaderboard")
-    public ResponseEntity<List<Player>> getLeaderboard(@PathVariable String sessionId) {
-        List<Player> leaderboard = gameService.getLeaderboard(sessionId);
+    public ResponseEntity<List<RoomView.PlayerView>> getLeaderboard(@PathVariable String sessionId) {
+        // Scores only: answers are never part of the leaderboard
+        List<RoomView.PlayerView> leaderboard = gameService.getLeaderboard(sessionId).stream()
+                .map(RoomView::withoutAnswers)
+                .toList();
         return ResponseEntity.ok(leaderboard);
     }
 
@@ -195,7 +205,7 @@ public class GameController {
     @ApiResponse(
         responseCode = "200",
         description = "Category selected successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Game session not found")
     @PostMapping("/{sessionId}/select-category")
@@ -222,7 +232,7 @@ public class GameController {
             }
 
             GameSession session = gameService.selectCategory(sessionId, playerId, categoryId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -241,7 +251,7 @@ public class GameController {
     @ApiResponse(
         responseCode = "200",
         description = "Difficulty selected successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Game session not found")
     @PostMapping("/{sessionId}/select-difficulty")
@@ -269,7 +279,7 @@ public class GameController {
             }
 
             GameSession session = gameService.selectDifficulty(sessionId, playerId, difficulty, categoryId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -0,0 +1,136 @@
+package com.game.global_quiz.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import com.game.global_quiz.dto.CommandAckDTO;
+import com.game.global_quiz.dto.RoomCommandDTO;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.service.GameService;
+
+/**
+ * Gameplay commands sent over the room's STOMP connection, as an alternative to the
+ * REST endpoints of {@link GameController} and {@link RoomController}. Clients send to
+ * {@code /app/room/{id}/<command>} and get an ack or error on {@code /user/queue/acks};
+ * the resulting room state arrives on the room topic as usual.
+ */
+@Controller
+@MessageMapping("/room/{sessionId}")
+public class RoomCommandController {
+    private static final Logger logger = LoggerFactory.getLogger(RoomCommandController.class);
+    private static final String ACKS = "/queue/acks";
+    private final GameService gameService;
+
+    public RoomCommandController(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @MessageMapping("/ready")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO toggleReady(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("ready", command, () -> gameService.togglePlayerReadyState(sessionId, required(command.getPlayerId(), "playerId")));
+    }
+
+    @MessageMapping("/start")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO startGame(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("start", command, () -> gameService.startGame(sessionId));
+    }
+
+    @MessageMapping("/select-category")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO selectCategory(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("select-category", command, () -> gameService.selectCategory(sessionId,
+                required(command.getPlayerId(), "playerId"), required(command.getCategory(), "category")));
+    }
+
+    @MessageMapping("/select-difficulty")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO selectDifficulty(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("select-difficulty", command, () -> gameService.selectDifficulty(sessionId,
+                required(command.getPlayerId(), "playerId"), required(command.getDifficulty(), "difficulty"),
+                required(command.getCategory(), "category")));
+    }
+
+    @MessageMapping("/answer/wrong")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO submitWrongAnswer(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("answer/wrong", command, () -> gameService.submitWrongAnswer(sessionId,
+                required(command.getPlayerId(), "playerId"), required(command.getAnswer(), "answer")));
+    }
+
+    @MessageMapping("/answer/mcq")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO submitMCQAnswer(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("answer/mcq", command, () -> gameService.submitMCQAnswer(sessionId,
+                required(command.getPlayerId(), "playerId"), required(command.getAnswer(), "answer")));
+    }
+
+    @MessageMapping("/wrong-answer-timeout")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO wrongAnswerTimeout(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("wrong-answer-timeout", command, () -> gameService.handleWrongAnswerTimeout(session(sessionId)));
+    }
+
+    @MessageMapping("/mcq-answer-timeout")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO mcqAnswerTimeout(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("mcq-answer-timeout", command, () -> gameService.handleMCQAnswerTimeout(session(sessionId)));
+    }
+
+    @MessageMapping("/reveal-to-score")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO revealToScore(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("reveal-to-score", command, () -> gameService.moveToScoreDisplay(session(sessionId)));
+    }
+
+    @MessageMapping("/next")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO nextRound(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("next", command, () -> gameService.nextRoundOrFinish(sessionId));
+    }
+
+    @MessageMapping("/reset")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO resetGame(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("reset", command, () -> gameService.resetGame(session(sessionId)));
+    }
+
+    @MessageMapping("/leave")
+    @SendToUser(destinations = ACKS, broadcast = false)
+    public CommandAckDTO leave(@DestinationVariable String sessionId, @Payload RoomCommandDTO command) {
+        return run("leave", command, () -> gameService.removePlayerFromSession(sessionId, required(command.getPlayerId(), "playerId")));
+    }
+
+    private CommandAckDTO run(String name, RoomCommandDTO command, Runnable action) {
+        try {
+            action.run();
+            return CommandAckDTO.ok(command.getRequestId(), name);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return CommandAckDTO.error(command.getRequestId(), name, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error while running room command {}", name, e);
+            return CommandAckDTO.error(command.getRequestId(), name, "An unexpected error occurred");
+        }
+    }
+
+    private GameSession session(String sessionId) {
+        GameSession session = gameService.getSession(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Session not found: " + sessionId);
+        }
+        return session;
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+}
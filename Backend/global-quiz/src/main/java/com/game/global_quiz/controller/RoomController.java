@@ -7,6 +7,7 @@ import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,6 +17,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.game.global_quiz.broadcast.RoomPayloadCache;
+import com.game.global_quiz.broadcast.RoomView;
 import com.game.global_quiz.dto.CreateRoomRequestDTO;
 import com.game.global_quiz.dto.PlayerDTO;
 import com.game.global_quiz.dto.RoomJoinResponseDTO;
@@ -23,6 +26,7 @@ import com.game.global_quiz.dto.RoomSettingsDTO;
 import com.game.global_quiz.model.GameSession;
 import com.game.global_quiz.service.CategoryService;
 import com.game.global_quiz.service.GameService;
+import com.game.global_quiz.service.PlayerTokenService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -37,13 +41,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class RoomController {
     private static final Logger logger = LoggerFactory.getLogger(RoomController.class);
     private final GameService gameService;
-    private final RoomWebSocketController roomWebSocketController;
     private final CategoryService categoryService;
+    private final RoomPayloadCache payloadCache;
+    private final PlayerTokenService playerTokens;
 
-    public RoomController(GameService gameService, RoomWebSocketController roomWebSocketController, CategoryService categoryService) {
+    public RoomController(GameService gameService, CategoryService categoryService, RoomPayloadCache payloadCache,
+                          PlayerTokenService playerTokens) {
         this.gameService = gameService;
-        this.roomWebSocketController = roomWebSocketController;
         this.categoryService = categoryService;
+        this.payloadCache = payloadCache;
+        this.playerTokens = playerTokens;
     }
 
     @Operation(
@@ -53,7 +60,7 @@ public class RoomController {
     @ApiResponse(
         responseCode = "200",
         description = "Room created successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomJoinResponseDTO.class))
     )
     @ApiResponse(
         responseCode = "400",
@@ -113,7 +120,8 @@ public class RoomController {
             );
             
             logger.info("Successfully created game session with ID: {}", session.getSessionId());
-            RoomJoinResponseDTO response = new RoomJoinResponseDTO(session, playerId, categoryService);
+            RoomJoinResponseDTO response = new RoomJoinResponseDTO(session, playerId, playerTokens.issue(playerId),
+                    categoryService);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument while creating room: {}", e.getMessage(), e);
@@ -135,7 +143,7 @@ public class RoomController {
     @ApiResponse(
         responseCode = "200",
         description = "Room details retrieved successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Room not found")
     @GetMapping("/{sessionId}")
@@ -151,7 +159,7 @@ public class RoomController {
                 return ResponseEntity.notFound().build();
             }
             logger.info("Successfully retrieved room details for session ID: {}", sessionId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(payloadCache.get(session).json());
         } catch (Exception e) {
             logger.error("Unexpected error while getting room details", e);
             Map<String, String> error = new HashMap<>();
@@ -167,7 +175,7 @@ public class RoomController {
     @ApiResponse(
         responseCode = "200",
         description = "Player joined successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomJoinResponseDTO.class))
     )
     @ApiResponse(
         responseCode = "400",
@@ -231,7 +239,8 @@ public class RoomController {
             
 
             logger.info("Successfully joined player {} to session ID e: {}", playerId, updatedSession);
-            RoomJoinResponseDTO response = new RoomJoinResponseDTO(updatedSession.get(), playerId, categoryService);
+            RoomJoinResponseDTO response = new RoomJoinResponseDTO(updatedSession.get(), playerId,
+                    playerTokens.issue(playerId), categoryService);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument while joining room {}: {}", sessionId, e.getMessage(), e);
@@ -258,7 +267,7 @@ public class RoomController {
     @ApiResponse(
         responseCode = "200",
         description = "Settings updated successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Room not found")
     @PutMapping("/{sessionId}/settings")
@@ -270,29 +279,16 @@ public class RoomController {
     ) {
         try {
             logger.info("Received request to update settings for room {}: {}", sessionId, settings);
-            GameSession session = gameService.getSession(sessionId);
+            // Applied as a room command, so it is serialized with joins and game commands and retried on a conflict
+            GameSession session = gameService.updateSettings(sessionId, settings.getMaxPlayers(),
+                    settings.getTotalRounds(), settings.getTimePerQuestion(), settings.getCategories(),
+                    settings.getLanguage());
             if (session == null) {
                 logger.warn("Room not found for update settings, session ID: {}", sessionId);
                 return ResponseEntity.notFound().build();
             }
-            
-            // Update settings
-            session.setMaxPlayers(settings.getMaxPlayers());
-            session.setTotalRounds(settings.getTotalRounds());
-            session.setTimePerQuestion(settings.getTimePerQuestion());
-            session.setChosenCategoryIds(settings.getCategories());
-            if (settings.getLanguage() != null) {
-                session.setLanguage(settings.getLanguage());
-            }
-            logger.info("Updated categories for session {}: {}", sessionId, settings.getCategories());
-
-            gameService.saveSession(session);
-            
-            // Broadcast the updated session to all players
-            roomWebSocketController.broadcastRoomUpdate(sessionId, session);
-            
             logger.info("Successfully updated settings for session ID: {}", sessionId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         } catch (Exception e) {
             logger.error("Unexpected error while updating room settings for session ID {}", sessionId, e);
             Map<String, String> error = new HashMap<>();
@@ -308,7 +304,7 @@ public class RoomController {
     @ApiResponse(
         responseCode = "200",
         description = "Ready state toggled successfully",
-        content = @Content(schema = @Schema(implementation = GameSession.class))
+        content = @Content(schema = @Schema(implementation = RoomView.class))
     )
     @ApiResponse(responseCode = "404", description = "Room or player not found")
     @PutMapping("/{sessionId}/players/{playerId}/ready")
@@ -321,7 +317,7 @@ public class RoomController {
         try {
             logger.info("Received request to toggle ready state for player {} in session {}", playerId, sessionId);
             GameSession session = gameService.togglePlayerReadyState(sessionId, playerId);
-            return ResponseEntity.ok(session);
+            return ResponseEntity.ok(RoomView.of(session));
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument while toggling player ready state: {}", e.getMessage(), e);
             Map<String, String> error = new HashMap<>();
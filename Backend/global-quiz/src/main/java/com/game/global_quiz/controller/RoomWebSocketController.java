@@ -1,27 +1,289 @@
 package com.game.global_quiz.controller;
 
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.game.global_quiz.broadcast.JsonPatch;
+import com.game.global_quiz.broadcast.PlayerUpdate;
+import com.game.global_quiz.broadcast.RoomBackplane;
+import com.game.global_quiz.broadcast.RoomEncoding;
+import com.game.global_quiz.broadcast.RoomPayloadCache;
+import com.game.global_quiz.broadcast.RoomPayloadCache.RoomPayload;
+import com.game.global_quiz.broadcast.RoomUpdate;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+import com.game.global_quiz.session.SessionStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
+/**
+ * Publishes the redacted room view to {@code /topic/room/{id}}, and each player's
+ * own answers and score changes to {@code /user/queue/room} (the STOMP user is the
+ * playerId given at CONNECT). Updates for a room are held for
+ * a short window and only the latest one is sent; a session state that is not newer
+ * than the one already sent (by version) is dropped.
+ *
+ * Session states go out as {@link RoomUpdate} frames: a patch against the previous
+ * frame for the room, or a full snapshot for the first frame. Clients subscribe to
+ * {@code /app/room/{id}} for a snapshot when they join or detect a version gap.
+ * Each frame is encoded once and the same bytes are handed to the broker for
+ * every subscriber, and to the {@link RoomBackplane} when other nodes share the rooms.
+ * Once a CBOR client has subscribed to a room, its frames are also encoded in CBOR
+ * for {@code /topic/room/{id}/cbor} (see {@link RoomEncoding}).
+ */
 @Controller
-public class RoomWebSocketController {
+public class RoomWebSocketController implements DisposableBean {
     private static final Logger logger = LoggerFactory.getLogger(RoomWebSocketController.class);
     private final SimpMessagingTemplate messagingTemplate;
+    private final RoomPayloadCache payloadCache;
+    private final RoomBackplane backplane;
+    private final SessionStore sessionStore;
+    private final boolean patchesEnabled;
+    private final long windowMillis;
+    private final long idleMillis;
+    private final Map<String, RoomChannel> rooms = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "room-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter sent;
+    private final Counter suppressed;
 
-    public RoomWebSocketController(SimpMessagingTemplate messagingTemplate) {
+    public RoomWebSocketController(SimpMessagingTemplate messagingTemplate,
+                                   RoomPayloadCache payloadCache,
+                                   Optional<RoomBackplane> backplane,
+                                   SessionStore sessionStore,
+                                   @Value("${game.rooms.broadcast.patches:true}") boolean patchesEnabled,
+                                   @Value("${game.rooms.broadcast.window-ms:25}") long windowMillis,
+                                   @Value("${game.rooms.actor.idle-ms:600000}") long idleMillis,
+                                   MeterRegistry meterRegistry) {
         this.messagingTemplate = messagingTemplate;
+        this.payloadCache = payloadCache;
+        this.backplane = backplane.orElse(null);
+        this.sessionStore = sessionStore;
+        this.patchesEnabled = patchesEnabled;
+        this.windowMillis = windowMillis;
+        this.idleMillis = idleMillis;
+        this.sent = Counter.builder("game.rooms.broadcasts").tag("result", "sent").register(meterRegistry);
+        this.suppressed = Counter.builder("game.rooms.broadcasts").tag("result", "suppressed").register(meterRegistry);
+        if (this.backplane != null) {
+            this.backplane.setReceiver(this::deliverRemote);
+        }
     }
 
     public void broadcastRoomUpdate(String roomCode, Object roomState) {
-        try {
+        RoomChannel room = rooms.computeIfAbsent(roomCode, RoomChannel::new);
+        synchronized (room) {
+            long version = versionOf(roomState);
+            long newest = room.pending != null ? versionOf(room.pending) : room.sentVersion;
+            if (version >= 0 && version <= newest) {
+                suppressed.increment();
+                return;
+            }
+            if (windowMillis <= 0) {
+                room.send(roomState);
+                return;
+            }
+            if (room.pending != null) {
+                suppressed.increment();
+            } else {
+                flusher.schedule(room::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+            room.pending = roomState;
+        }
+    }
+
+    // A frame another node sent for the room; it supersedes what this node last sent
+    private void deliverRemote(String roomCode, long version, byte[] frame) {
+        rooms.computeIfAbsent(roomCode, RoomChannel::new).deliverRemote(version, frame);
+    }
+
+    @SubscribeMapping("/room/{roomCode}")
+    public RoomUpdate snapshot(@DestinationVariable String roomCode) {
+        GameSession session = sessionStore.load(roomCode);
+        return session == null ? null : RoomUpdate.snapshot(session.getVersion(), payloadCache.get(session).publicTree());
+    }
+
+    @SubscribeMapping("/room/{roomCode}/cbor")
+    public byte[] cborSnapshot(@DestinationVariable String roomCode) {
+        GameSession session = sessionStore.load(roomCode);
+        return session == null ? null : payloadCache.get(session).snapshotFrame(RoomEncoding.CBOR);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        String destination = SimpMessageHeaderAccessor.getDestination(event.getMessage().getHeaders());
+        if (destination != null && destination.startsWith("/topic/room/") && destination.endsWith(RoomEncoding.CBOR.suffix())) {
+            String roomCode = destination.substring("/topic/room/".length(),
+                    destination.length() - RoomEncoding.CBOR.suffix().length());
+            rooms.computeIfAbsent(roomCode, RoomChannel::new).cborSubscribed = true;
+        }
+    }
+
+    @SubscribeMapping("/room/{roomCode}/me")
+    public PlayerUpdate playerSnapshot(@DestinationVariable String roomCode, Principal principal) {
+        GameSession session = principal == null ? null : sessionStore.load(roomCode);
+        if (session == null) {
+            return null;
+        }
+        return session.getPlayers().stream()
+                .filter(player -> player.getId().equals(principal.getName()))
+                .findFirst()
+                .map(player -> PlayerUpdate.of(roomCode, session.getVersion(), player, null))
+                .orElse(null);
+    }
+
+    @Scheduled(fixedDelayString = "${game.rooms.index.prune-interval-ms:60000}")
+    public void retireIdleRooms() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        rooms.values().removeIf(room -> {
+            if (room.isIdleSince(cutoff)) {
+                payloadCache.evict(room.roomCode);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+    }
+
+    private static Message<byte[]> frameMessage(byte[] frame, MimeType contentType) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(contentType);
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(frame, headers.getMessageHeaders());
+    }
+
+    // Session states carry a version; anything else is always treated as newest
+    private static long versionOf(Object roomState) {
+        return roomState instanceof GameSession session ? session.getVersion() : -1;
+    }
+
+    private final class RoomChannel {
+        private final String roomCode;
+        private Object pending;
+        private long sentVersion = -1;
+        // Public view last sent, the base for the next patch
+        private JsonNode sentState;
+        // Last private update sent to each player
+        private final Map<String, PlayerUpdate> sentToPlayers = new HashMap<>();
+        // Stays set until the room is retired; CBOR frames are skipped until then
+        private volatile boolean cborSubscribed;
+        private long lastSentAt = System.currentTimeMillis();
+
+        private RoomChannel(String roomCode) {
+            this.roomCode = roomCode;
+        }
+
+        private synchronized void flush() {
+            if (pending != null) {
+                Object state = pending;
+                pending = null;
+                long version = versionOf(state);
+                if (version >= 0 && version <= sentVersion) {
+                    // Overtaken by a frame from another node while waiting
+                    suppressed.increment();
+                    return;
+                }
+                send(state);
+            }
+        }
+
+        private synchronized void deliverRemote(long version, byte[] frame) {
+            try {
+                publish(frame, () -> payloadCache.transcode(frame, RoomEncoding.CBOR));
+            } catch (Exception e) {
+                logger.error("Error relaying room update for room {}: {}", roomCode, e.getMessage(), e);
+            }
+            if (version > sentVersion) {
+                // Local patches must not build on a state this node's subscribers may no longer hold
+                sentVersion = version;
+                sentState = null;
+            }
+            lastSentAt = System.currentTimeMillis();
+        }
+
+        private void send(Object roomState) {
             String destination = "/topic/room/" + roomCode;
-            logger.info("Broadcasting room update to destination: {}", destination);
-            messagingTemplate.convertAndSend(destination, roomState);
-            logger.info("Successfully broadcasted room update for room: {}", roomCode);
-        } catch (Exception e) {
-            logger.error("Error broadcasting room update for room {}: {}", roomCode, e.getMessage(), e);
+            try {
+                if (roomState instanceof GameSession session) {
+                    RoomPayload payload = payloadCache.get(session);
+                    RoomUpdate patch = patchesEnabled && sentState != null
+                            ? RoomUpdate.patch(sentVersion, payload.version(), JsonPatch.diff(sentState, payload.publicTree()))
+                            : null;
+                    byte[] frame = patch != null ? payloadCache.encode(patch) : payload.snapshotFrame();
+                    publish(frame, () -> patch != null
+                            ? payloadCache.encode(patch, RoomEncoding.CBOR)
+                            : payload.snapshotFrame(RoomEncoding.CBOR));
+                    sendToPlayers(session);
+                    sentState = payload.publicTree();
+                    sentVersion = payload.version();
+                    if (backplane != null) {
+                        backplane.publish(roomCode, payload.version(), frame);
+                    }
+                } else {
+                    messagingTemplate.convertAndSend(destination, roomState);
+                }
+                sent.increment();
+                logger.debug("Broadcasted room update to {}", destination);
+            } catch (Exception e) {
+                logger.error("Error broadcasting room update for room {}: {}", roomCode, e.getMessage(), e);
+            }
+            lastSentAt = System.currentTimeMillis();
+        }
+
+        private void publish(byte[] jsonFrame, Supplier<byte[]> cborFrame) {
+            messagingTemplate.send(RoomEncoding.JSON.topic(roomCode), frameMessage(jsonFrame, RoomEncoding.JSON.contentType()));
+            if (cborSubscribed) {
+                messagingTemplate.send(RoomEncoding.CBOR.topic(roomCode),
+                        frameMessage(cborFrame.get(), RoomEncoding.CBOR.contentType()));
+            }
+        }
+
+        // Only players whose own view changed get a frame
+        private void sendToPlayers(GameSession session) {
+            sentToPlayers.keySet().retainAll(session.getPlayers().stream().map(Player::getId).toList());
+            for (Player player : session.getPlayers()) {
+                PlayerUpdate previous = sentToPlayers.get(player.getId());
+                PlayerUpdate update = PlayerUpdate.of(roomCode, session.getVersion(), player, previous);
+                if (update.differsFrom(previous)) {
+                    messagingTemplate.convertAndSendToUser(player.getId(), "/queue/room", update);
+                    sentToPlayers.put(player.getId(), update);
+                }
+            }
+        }
+
+        private synchronized boolean isIdleSince(long cutoff) {
+            return pending == null && lastSentAt <= cutoff;
         }
     }
-} 
\ No newline at end of file
+}
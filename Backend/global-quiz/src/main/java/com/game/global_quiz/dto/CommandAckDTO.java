@@ -0,0 +1,24 @@
+package com.game.global_quiz.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Reply to the sender of a STOMP command, matched to it by requestId
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommandAckDTO {
+    private String requestId;
+    private String command;
+    private boolean ok;
+    private String error;
+
+    public static CommandAckDTO ok(String requestId, String command) {
+        return new CommandAckDTO(requestId, command, true, null);
+    }
+
+    public static CommandAckDTO error(String requestId, String command, String error) {
+        return new CommandAckDTO(requestId, command, false, error);
+    }
+}
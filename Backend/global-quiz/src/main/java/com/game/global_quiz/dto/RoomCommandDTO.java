@@ -0,0 +1,13 @@
+package com.game.global_quiz.dto;
+
+import lombok.Data;
+
+// Body of a gameplay command sent over STOMP; only the fields the command needs are set
+@Data
+public class RoomCommandDTO {
+    private String requestId;
+    private String playerId;
+    private String answer;
+    private Long category;
+    private Integer difficulty;
+}
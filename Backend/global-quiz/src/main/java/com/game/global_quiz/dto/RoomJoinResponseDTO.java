@@ -1,5 +1,6 @@
 package com.game.global_quiz.dto;
 
+import com.game.global_quiz.broadcast.RoomView;
 import com.game.global_quiz.model.GameSession;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,14 +14,19 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @NoArgsConstructor
 public class RoomJoinResponseDTO {
-    private GameSession session;
+    // The public room view; players' answers are never part of it
+    private RoomView session;
     private String playerId;
+    // Shown with playerId at STOMP CONNECT to receive this player's private updates
+    private String playerToken;
     private List<Long> chosenCategoryIds;
     private List<String> chosenCategoriesInLang;
 
-    public RoomJoinResponseDTO(GameSession session, String playerId, CategoryService categoryService) {
-        this.session = session;
+    public RoomJoinResponseDTO(GameSession session, String playerId, String playerToken,
+                               CategoryService categoryService) {
+        this.session = RoomView.of(session);
         this.playerId = playerId;
+        this.playerToken = playerToken;
         this.chosenCategoryIds = session.getChosenCategoryIds();
         this.chosenCategoriesInLang = session.getChosenCategoryIds().stream().map(catId -> {
             Category cat = categoryService.findById(catId).orElse(null);
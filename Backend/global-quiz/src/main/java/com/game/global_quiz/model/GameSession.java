@@ -33,6 +33,12 @@ public class GameSession implements Serializable {
     private Long selectedCategory;
     private Integer selectedDifficulty;
     private String language = "en";
+    // Bumped by the session store on every successful write; a save is rejected if it has moved on since the load
+    private long version;
+    // Questions served in this room, rematches included, so none comes up twice. Stored with the
+    // session (the Redis JSON mapper un-ignores it) but never sent to clients
+    @JsonIgnore
+    private PlayedQuestions playedQuestions = new PlayedQuestions();
 
     public enum GameStatus {
         WAITING_FOR_PLAYERS,
@@ -0,0 +1,273 @@
+package com.game.global_quiz.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Ids of the questions a session has played, as a small roaring-style bitmap. Ids are
+ * grouped by their high 48 bits; a group keeps its low 16 bits as a sorted char array
+ * and turns into a 65536-bit bitmap once it holds more than 4096 of them. A session's
+ * few dozen ids take a few bytes each however large the ids are. In JSON it is the
+ * base64 of {@link #toBytes()}.
+ */
+public final class PlayedQuestions implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    // Sorted high bits, one per container
+    private long[] keys = new long[0];
+    private Container[] containers = new Container[0];
+
+    public boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, id >>> 16);
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    // False if the id was already there
+    public boolean add(long id) {
+        long key = id >>> 16;
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            index = -index - 1;
+            keys = insert(keys, index, key);
+            Container[] grown = new Container[containers.length + 1];
+            System.arraycopy(containers, 0, grown, 0, index);
+            System.arraycopy(containers, index, grown, index + 1, containers.length - index);
+            grown[index] = new Container();
+            containers = grown;
+        }
+        return containers[index].add((char) id);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Container container : containers) {
+            size += container.cardinality;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public void clear() {
+        keys = new long[0];
+        containers = new Container[0];
+    }
+
+    /**
+     * Container count, then per container the key (as a delta from the previous one)
+     * and cardinality as varints, followed by either the low bits as varint deltas or,
+     * above the array limit, the bitmap words.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + size() * 2);
+        writeVarLong(out, keys.length);
+        long previousKey = 0;
+        for (int i = 0; i < keys.length; i++) {
+            writeVarLong(out, keys[i] - previousKey);
+            previousKey = keys[i];
+            Container container = containers[i];
+            writeVarLong(out, container.cardinality);
+            if (container.bits == null) {
+                int previous = 0;
+                for (int j = 0; j < container.cardinality; j++) {
+                    writeVarLong(out, container.values[j] - previous);
+                    previous = container.values[j];
+                }
+            } else {
+                for (long word : container.bits) {
+                    for (int shift = 56; shift >= 0; shift -= 8) {
+                        out.write((int) (word >>> shift));
+                    }
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static PlayedQuestions fromBytes(byte[] bytes) {
+        PlayedQuestions played = new PlayedQuestions();
+        if (bytes == null || bytes.length == 0) {
+            return played;
+        }
+        int[] position = {0};
+        int count = checkedCount(readVarLong(bytes, position), bytes.length);
+        played.keys = new long[count];
+        played.containers = new Container[count];
+        long key = 0;
+        for (int i = 0; i < count; i++) {
+            key += readVarLong(bytes, position);
+            played.keys[i] = key;
+            Container container = new Container();
+            int cardinality = checkedCount(readVarLong(bytes, position), 1 << 16);
+            if (cardinality <= ARRAY_LIMIT) {
+                container.values = new char[Math.max(4, cardinality)];
+                int value = 0;
+                for (int j = 0; j < cardinality; j++) {
+                    value += (int) readVarLong(bytes, position);
+                    container.values[j] = (char) value;
+                }
+            } else {
+                container.values = null;
+                container.bits = new long[BITMAP_WORDS];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = 0;
+                    for (int b = 0; b < 8; b++) {
+                        word = (word << 8) | (read(bytes, position) & 0xFF);
+                    }
+                    container.bits[w] = word;
+                }
+            }
+            container.cardinality = cardinality;
+            played.containers[i] = container;
+        }
+        return played;
+    }
+
+    public PlayedQuestions copy() {
+        PlayedQuestions copy = new PlayedQuestions();
+        copy.keys = keys.clone();
+        copy.containers = new Container[containers.length];
+        for (int i = 0; i < containers.length; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        return copy;
+    }
+
+    @JsonValue
+    public String toBase64() {
+        return Base64.getEncoder().encodeToString(toBytes());
+    }
+
+    @JsonCreator
+    public static PlayedQuestions fromBase64(String base64) {
+        return fromBytes(base64 == null ? null : Base64.getDecoder().decode(base64));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PlayedQuestions played && Arrays.equals(toBytes(), played.toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toBytes());
+    }
+
+    @Override
+    public String toString() {
+        return "PlayedQuestions[" + size() + "]";
+    }
+
+    private static long[] insert(long[] array, int index, long value) {
+        long[] grown = new long[array.length + 1];
+        System.arraycopy(array, 0, grown, 0, index);
+        grown[index] = value;
+        System.arraycopy(array, index, grown, index + 1, array.length - index);
+        return grown;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int checkedCount(long count, int limit) {
+        if (count < 0 || count > limit) {
+            throw new IllegalArgumentException("Malformed played questions count " + count);
+        }
+        return (int) count;
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long result = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint in played questions");
+            }
+            b = read(bytes, position) & 0xFF;
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static byte read(byte[] bytes, int[] position) {
+        if (position[0] >= bytes.length) {
+            throw new IllegalArgumentException("Truncated played questions");
+        }
+        return bytes[position[0]++];
+    }
+
+    // Low 16 bits of one group of ids: a sorted array while small, a bitmap after
+    private static final class Container implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private char[] values = new char[4];
+        private long[] bits;
+        private int cardinality;
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] |= mask;
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                return add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return true;
+        }
+
+        Container copy() {
+            Container copy = new Container();
+            copy.values = values == null ? null : values.clone();
+            copy.bits = bits == null ? null : bits.clone();
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = null;
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class Player {
     private boolean hasAnswered = false;
     private String currentAnswer;
     private String wrongAnswerSubmitted;  // Track the wrong answer this player submitted
+    private boolean away;  // Lost their connection; not waited for, removed if they stay away
 
     public Player(String username) {
         this.id = java.util.UUID.randomUUID().toString();
@@ -7,10 +7,14 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Size;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.game.global_quiz.model.FallbackOption;
 
 @Entity
 @Table(name = "questions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questions")
 public class Question {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -60,6 +64,7 @@ public class Question {
 
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "question_fallback_options", joinColumns = @JoinColumn(name = "question_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question-fallback-options")
     private List<FallbackOption> fallbackOptions;
 
     // Getters and Setters
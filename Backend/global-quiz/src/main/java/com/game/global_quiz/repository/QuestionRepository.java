@@ -38,6 +38,10 @@ public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSp
     @Query("SELECT q FROM Question q WHERE q.category = :category AND q.difficulty = :difficulty ORDER BY function('RANDOM')")
     Page<Question> findRandomQuestionsByCategoryAndDifficulty(@Param("category") Category category, @Param("difficulty") int difficulty, Pageable pageable);
     
+    // id, category id and difficulty of the questions after an id, for building the question index page by page
+    @Query("SELECT q.id, q.category.id, q.difficulty FROM Question q WHERE q.id > :afterId ORDER BY q.id")
+    List<Object[]> findIndexEntriesAfter(@Param("afterId") long afterId, Pageable pageable);
+    
     boolean existsByQuestionTextEn(String questionTextEn);
     boolean existsByQuestionTextFr(String questionTextFr);
     boolean existsByQuestionTextAr(String questionTextAr);
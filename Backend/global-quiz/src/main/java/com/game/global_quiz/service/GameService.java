@@ -1,6 +1,6 @@
 package com.game.global_quiz.service;
 
-import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,11 +11,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import com.game.global_quiz.controller.RoomWebSocketController;
@@ -23,28 +25,53 @@ import com.game.global_quiz.model.Category;
 import com.game.global_quiz.model.GameSession;
 import com.game.global_quiz.model.Player;
 import com.game.global_quiz.model.Question;
+import com.game.global_quiz.session.AnswerResult;
+import com.game.global_quiz.session.PhaseTimer;
+import com.game.global_quiz.session.RoomCommandExecutor;
+import com.game.global_quiz.session.SessionConflictException;
+import com.game.global_quiz.session.SessionStore;
+import com.game.global_quiz.session.SessionUnitOfWork;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class GameService {
     private static final Logger logger = LoggerFactory.getLogger(GameService.class);
-    private final RedisTemplate<String, GameSession> redisTemplate;
+    private final SessionStore sessionStore;
     private final QuestionService questionService;
     private final PlayerService playerService;
     private final RoomWebSocketController roomWebSocketController;
     private final CategoryService categoryService;
+    private final RoomCommandExecutor roomExecutor;
+    private final PhaseTimer phaseTimer;
+    private final QuestionPrefetcher questionPrefetcher;
+    private final SessionUnitOfWork unitOfWork;
     // Ajout d'un champ de langue par défaut
     private static final String DEFAULT_LANG = "en";
+    // A command that loses a version race is re-run against fresh state at most this many times in total
+    private static final int MAX_COMMAND_ATTEMPTS = 3;
+    // Clients report their own timeouts; the server deadline only closes a phase they did not
+    private static final long PHASE_DEADLINE_SLACK_MILLIS = 2_000;
 
-    public GameService(RedisTemplate<String, GameSession> redisTemplate, 
+    public GameService(SessionStore sessionStore, 
                       QuestionService questionService, 
                       PlayerService playerService,
                       RoomWebSocketController roomWebSocketController,
-                      CategoryService categoryService) {
-        this.redisTemplate = redisTemplate;
+                      CategoryService categoryService,
+                      RoomCommandExecutor roomExecutor,
+                      PhaseTimer phaseTimer,
+                      QuestionPrefetcher questionPrefetcher,
+                      MeterRegistry meterRegistry) {
+        this.sessionStore = sessionStore;
         this.questionService = questionService;
         this.playerService = playerService;
         this.roomWebSocketController = roomWebSocketController;
         this.categoryService = categoryService;
+        this.roomExecutor = roomExecutor;
+        this.phaseTimer = phaseTimer;
+        this.phaseTimer.setHandler(this::expireStage);
+        this.questionPrefetcher = questionPrefetcher;
+        this.unitOfWork = new SessionUnitOfWork(sessionStore::snapshot, this::writeSession, MAX_COMMAND_ATTEMPTS, meterRegistry);
     }
 
     public GameSession createGameSession(
@@ -56,30 +83,30 @@ public class GameService {
             int timePerQuestion,
             List<Long> chosenCategoryIds,
             String language) {
-        // Create host player
-        Player host = new Player();
-        host.setId(playerId);
-        host.setUsername(username);
-        host.setAvatarUrl(avatarUrl);
-        host.setHost(true);
-        host.setReady(true);
-
-        // Get all categories from database
-        List<Category> allCategories = categoryService.getAllCategories();
-        List<Long> allCategoryIds = allCategories.stream().map(Category::getId).collect(Collectors.toList());
-        logger.debug("all categories: "+ allCategories);
-        logger.debug("all categories IDS: "+ allCategoryIds);
-        // Create session with all categories chosen
-        GameSession session = new GameSession(maxPlayers, totalRounds, timePerQuestion, allCategoryIds);
-        session.setLanguage(language != null ? language : DEFAULT_LANG);
-        session.getPlayers().add(host);
-        session.setCurrentPhase(GameSession.QuestionPhase.LOBBY);
+        return unitOfWork.execute(() -> {
+            // Create host player
+            Player host = new Player();
+            host.setId(playerId);
+            host.setUsername(username);
+            host.setAvatarUrl(avatarUrl);
+            host.setHost(true);
+            host.setReady(true);
+
+            // Get all categories from database
+            List<Category> allCategories = categoryService.getAllCategories();
+            List<Long> allCategoryIds = allCategories.stream().map(Category::getId).collect(Collectors.toList());
+            logger.debug("all categories: "+ allCategories);
+            logger.debug("all categories IDS: "+ allCategoryIds);
+            // Create session with all categories chosen
+            GameSession session = new GameSession(maxPlayers, totalRounds, timePerQuestion, allCategoryIds);
+            session.setLanguage(language != null ? language : DEFAULT_LANG);
+            session.getPlayers().add(host);
+            session.setCurrentPhase(GameSession.QuestionPhase.LOBBY);
         
-        // Save to Redis
-        saveSession(session);
-        // Broadcast initial room state
-        roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
-        return session;
+            // Save to Redis
+            saveSession(session);
+            return session;
+        });
     }
 
     public void addPlayerToSession(
@@ -87,226 +114,449 @@ public class GameService {
             String playerId,
             String username,
             String avatarUrl) {
-        GameSession session = getSession(sessionId);
-        if (session != null && session.getPlayers().size() < session.getMaxPlayers()) {
+        command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            if (session != null && session.getPlayers().size() < session.getMaxPlayers()) {
             
-            Player player = new Player();
-            player.setId(playerId);
-            player.setUsername(username);
-            player.setAvatarUrl(avatarUrl);
-            player.setHost(false);
-            player.setReady(false);
+                Player player = new Player();
+                player.setId(playerId);
+                player.setUsername(username);
+                player.setAvatarUrl(avatarUrl);
+                player.setHost(false);
+                player.setReady(false);
             
-            session.getPlayers().add(player);
-            saveSession(session);
-            // Broadcast updated room state
-            roomWebSocketController.broadcastRoomUpdate(sessionId, session);
-        }
+                session.getPlayers().add(player);
+                saveSession(session);
+            }
+        });
     }
 
     public void removePlayerFromSession(String sessionId, String playerId) {
-        GameSession session = getSession(sessionId);
-        if (session != null) {
-            session.getPlayers().removeIf(player -> player.getId().equals(playerId));
+        command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            if (session != null) {
+                session.getPlayers().removeIf(player -> player.getId().equals(playerId));
+                if (session.getPlayers().isEmpty()) {
+                    // Nobody is left to play or to receive updates
+                    removeSession(sessionId);
+                    return;
+                }
+                saveSession(session);
+                completeAnsweringPhase(session);
+            }
+        });
+    }
+
+    // Marks a player away when their last connection drops, and back when they reconnect. Whether
+    // they are away is read inside the command, so the last queued update applies the latest state
+    public void setPlayerAway(String sessionId, String playerId, BooleanSupplier awayNow) {
+        command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            Player player = session == null ? null : findPlayer(session, playerId);
+            boolean away = awayNow.getAsBoolean();
+            if (player == null || player.isAway() == away) {
+                return;
+            }
+            player.setAway(away);
+            saveSession(session);
+            if (away) {
+                completeAnsweringPhase(session);
+            }
+        });
+    }
+
+    // Removes a player who stayed away past the grace period; a player who came back is kept
+    public boolean removeAwayPlayer(String sessionId, String playerId) {
+        return command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            Player player = session == null ? null : findPlayer(session, playerId);
+            if (player == null || !player.isAway()) {
+                return false;
+            }
+            session.getPlayers().remove(player);
+            if (session.getPlayers().isEmpty()) {
+                removeSession(sessionId);
+                return true;
+            }
+            if (player.isHost()) {
+                session.getPlayers().stream()
+                        .filter(p -> !p.isAway())
+                        .findFirst()
+                        .orElse(session.getPlayers().get(0))
+                        .setHost(true);
+            }
+            logger.info("Removed player {} from session {} after they stayed away", playerId, sessionId);
             saveSession(session);
-            roomWebSocketController.broadcastRoomUpdate(sessionId, session);
+            completeAnsweringPhase(session);
+            return true;
+        });
+    }
+
+    private Player findPlayer(GameSession session, String playerId) {
+        return session.getPlayers().stream()
+                .filter(p -> p.getId().equals(playerId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Answering phases only wait for players who are still here
+    private void completeAnsweringPhase(GameSession session) {
+        if (session.getCurrentPhase() == GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS) {
+            checkAllWrongAnswersSubmitted(session);
+        } else if (session.getCurrentPhase() == GameSession.QuestionPhase.MCQ_ANSWERING) {
+            checkAllMCQAnswersSubmittedOrTimeout(session);
         }
     }
 
     public GameSession getSession(String sessionId) {
-        return redisTemplate.opsForValue().get("game:" + sessionId);
+        return unitOfWork.load(sessionId, id -> roomExecutor.load(id, sessionStore::load));
     }
 
+    public void removeSession(String sessionId) {
+        sessionStore.remove(sessionId);
+        roomExecutor.forget(sessionId);
+        phaseTimer.cancel(sessionId);
+        questionPrefetcher.forget(sessionId);
+        logger.info("Removed session {}", sessionId);
+    }
+
+    // Runs a game command on the room's mailbox, as one unit of work
+    private <T> T command(String sessionId, Supplier<T> work) {
+        return roomExecutor.execute(sessionId, () -> unitOfWork.execute(work));
+    }
+
+    private void command(String sessionId, Runnable work) {
+        roomExecutor.execute(sessionId, () -> unitOfWork.execute(work));
+    }
+
+    // Commands handed a session use it as loaded by the caller, but re-read it when re-run after a version conflict
+    private GameSession attach(GameSession session) {
+        return unitOfWork.load(session.getSessionId(),
+                id -> unitOfWork.isRetry() ? roomExecutor.load(id, sessionStore::load) : session);
+    }
+
+    // Inside a game command the write is deferred to the end of the command and coalesced
     public void saveSession(GameSession session) {
-        redisTemplate.opsForValue().set(
-            "game:" + session.getSessionId(),
-            session,
-            Duration.ofHours(2)
-        );
+        unitOfWork.save(session);
+    }
+
+    private void writeSession(GameSession session, GameSession snapshot) {
+        try {
+            sessionStore.save(session, snapshot);
+        } catch (SessionConflictException e) {
+            // Another writer got there first; the retry must start from the store
+            roomExecutor.forget(session.getSessionId());
+            throw e;
+        }
+        roomExecutor.committed(session);
         // Broadcast updated room state
         roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
+        schedulePhaseDeadline(session);
+        prefetchQuestions(session);
     }
 
-    public GameSession togglePlayerReadyState(String sessionId, String playerId) {
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            throw new IllegalArgumentException("Session not found: " + sessionId);
+    // Timed phases end at their deadline whether or not a client reports it; any other phase needs no timer
+    private void schedulePhaseDeadline(GameSession session) {
+        GameSession.QuestionPhase phase = session.getCurrentPhase();
+        if (phase != GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS && phase != GameSession.QuestionPhase.MCQ_ANSWERING) {
+            phaseTimer.cancel(session.getSessionId());
+            return;
         }
+        long delayMillis = session.getTimePerQuestion() * 1000L + PHASE_DEADLINE_SLACK_MILLIS;
+        phaseTimer.schedule(session.getSessionId(), phase + ":" + session.getCurrentRound(), delayMillis);
+    }
 
-        Player player = session.getPlayers().stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Player not found: " + playerId));
+    // The next chooser's candidates load while the reveal and scores are on screen
+    private void prefetchQuestions(GameSession session) {
+        GameSession.QuestionPhase phase = session.getCurrentPhase();
+        if ((phase == GameSession.QuestionPhase.ANSWERS_REVEAL || phase == GameSession.QuestionPhase.SCORE_DISPLAY)
+                && session.getCurrentRound() < session.getTotalRounds()) {
+            questionPrefetcher.prefetch(session.getSessionId(), session.getCurrentRound() + 1,
+                    session.getChosenCategoryIds(), session.getLanguage(), session.getPlayedQuestions());
+        }
+    }
 
-        player.setReady(!player.isReady());
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(sessionId, session);
-        return session;
+    // A stage is "PHASE:round"
+    private void expireStage(String sessionId, String stage) {
+        int separator = stage.indexOf(':');
+        expirePhase(sessionId, Integer.parseInt(stage.substring(separator + 1)),
+                GameSession.QuestionPhase.valueOf(stage.substring(0, separator)));
+    }
+
+    // Closes a timed phase at its deadline, unless the room has already moved past it
+    void expirePhase(String sessionId, int round, GameSession.QuestionPhase phase) {
+        command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            if (session == null || session.getCurrentRound() != round || session.getCurrentPhase() != phase) {
+                return;
+            }
+            logger.info("Phase {} of round {} timed out for session {}", phase, round, sessionId);
+            if (phase == GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS) {
+                closeWrongAnswers(session);
+            } else {
+                closeMcqAnswers(session);
+            }
+        });
+    }
+
+    public GameSession togglePlayerReadyState(String sessionId, String playerId) {
+        return command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                throw new IllegalArgumentException("Session not found: " + sessionId);
+            }
+
+            Player player = session.getPlayers().stream()
+                    .filter(p -> p.getId().equals(playerId))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Player not found: " + playerId));
+
+            player.setReady(!player.isReady());
+            saveSession(session);
+            return session;
+        });
+    }
+
+    // Null if the room does not exist
+    public GameSession updateSettings(String sessionId, int maxPlayers, int totalRounds, int timePerQuestion,
+                                      List<Long> categoryIds, String language) {
+        return command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                return null;
+            }
+            session.setMaxPlayers(maxPlayers);
+            session.setTotalRounds(totalRounds);
+            session.setTimePerQuestion(timePerQuestion);
+            session.setChosenCategoryIds(categoryIds);
+            if (language != null) {
+                session.setLanguage(language);
+            }
+            saveSession(session);
+            return session;
+        });
     }
 
     public void startGame(String sessionId) {
-        if (sessionId == null) {
-            throw new IllegalArgumentException("Session ID cannot be null");
-        }
-        logger.info("Attempting to start game for session: {}", sessionId);
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            logger.error("Failed to start game - Session not found: {}", sessionId);
-            throw new IllegalStateException("Session not found: " + sessionId);
-        }
+        command(sessionId, () -> {
+            if (sessionId == null) {
+                throw new IllegalArgumentException("Session ID cannot be null");
+            }
+            logger.info("Attempting to start game for session: {}", sessionId);
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                logger.error("Failed to start game - Session not found: {}", sessionId);
+                throw new IllegalStateException("Session not found: " + sessionId);
+            }
 
-        // Log current state before making changes
-        logger.info("Current session state - Players: {}, Status: {}", 
-                   session.getPlayers().size(), session.getStatus());
-        logger.info("Players ready status: {}", session.getPlayers().stream()
-                   .map(p -> p.getUsername() + ":" + p.isReady() + ":" + p.isHost())
-                   .collect(Collectors.joining(", ")));
-
-        // Automatically mark the host as ready if they're not already
-        Player host = session.getPlayers().stream()
-                           .filter(Player::isHost)
-                           .findFirst()
-                           .orElse(null);
+            // Log current state before making changes
+            logger.info("Current session state - Players: {}, Status: {}", 
+                       session.getPlayers().size(), session.getStatus());
+            logger.info("Players ready status: {}", session.getPlayers().stream()
+                       .map(p -> p.getUsername() + ":" + p.isReady() + ":" + p.isHost())
+                       .collect(Collectors.joining(", ")));
+
+            // Automatically mark the host as ready if they're not already
+            Player host = session.getPlayers().stream()
+                               .filter(Player::isHost)
+                               .findFirst()
+                               .orElse(null);
         
-        if (host != null && !host.isReady()) {
-            logger.info("Automatically marking host {} as ready", host.getUsername());
-            host.setReady(true);
-            saveSession(session);
-            roomWebSocketController.broadcastRoomUpdate(sessionId, session);
-        }
+            if (host != null && !host.isReady()) {
+                logger.info("Automatically marking host {} as ready", host.getUsername());
+                host.setReady(true);
+                saveSession(session);
+            }
 
-        if (!canStartGame(session)) {
-            logger.warn("Cannot start game - Conditions not met for session: {}", sessionId);
-            throw new IllegalStateException("Cannot start game: " + getStartGameErrorMessage(session));
-        }
+            if (!canStartGame(session)) {
+                logger.warn("Cannot start game - Conditions not met for session: {}", sessionId);
+                throw new IllegalStateException("Cannot start game: " + getStartGameErrorMessage(session));
+            }
 
-        int playerCount = session.getPlayers().size();
-        logger.info("Starting game for session {} with {} players", sessionId, playerCount);
+            int playerCount = session.getPlayers().size();
+            logger.info("Starting game for session {} with {} players", sessionId, playerCount);
 
-        if (playerCount > session.getMaxPlayers()) {
-            logger.warn("Cannot start game - Too many players (maximum {} allowed) in session: {}", session.getMaxPlayers(), sessionId);
-            throw new IllegalStateException("Too many players to start the game (maximum " + session.getMaxPlayers() + " allowed)");
-        }
+            if (playerCount > session.getMaxPlayers()) {
+                logger.warn("Cannot start game - Too many players (maximum {} allowed) in session: {}", session.getMaxPlayers(), sessionId);
+                throw new IllegalStateException("Too many players to start the game (maximum " + session.getMaxPlayers() + " allowed)");
+            }
 
-        session.setStatus(GameSession.GameStatus.IN_PROGRESS);
-        session.setStartTime(LocalDateTime.now());
-        session.setCurrentRound(1);
-        // Don't select a question yet - wait for category and difficulty selection
-        session.setCurrentQuestionId(null);
-        session.setCurrentPhase(GameSession.QuestionPhase.CATEGORY_SELECTION);
-        session.setSelectedCategory(null);
-        session.setSelectedDifficulty(null);
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(sessionId, session);
-        logger.info("Game started successfully for session: {}", sessionId);
+            session.setStatus(GameSession.GameStatus.IN_PROGRESS);
+            session.setStartTime(LocalDateTime.now());
+            session.setCurrentRound(1);
+            // Don't select a question yet - wait for category and difficulty selection
+            session.setCurrentQuestionId(null);
+            session.setCurrentPhase(GameSession.QuestionPhase.CATEGORY_SELECTION);
+            session.setSelectedCategory(null);
+            session.setSelectedDifficulty(null);
+            saveSession(session);
+            logger.info("Game started successfully for session: {}", sessionId);
+        });
     }
 
     public void submitWrongAnswer(String sessionId, String playerId, String answer) {
         logger.info("Attempting to submit wrong answer - Session: {}, Player: {}, Answer: {}", sessionId, playerId, answer);
+        roomExecutor.execute(sessionId, () -> {
+            AnswerResult result = sessionStore.recordAnswer(
+                    sessionId, playerId, GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS, answer);
+            if (result != null) {
+                applyRecordedAnswer(sessionId, playerId, GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS, result,
+                        this::checkAllWrongAnswersSubmitted);
+                return;
+            }
+            submitWrongAnswerToSession(sessionId, playerId, answer);
+        });
+    }
+
+    private void submitWrongAnswerToSession(String sessionId, String playerId, String answer) {
+        unitOfWork.execute(() -> {
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                logger.error("Failed to submit wrong answer - Session not found: {}", sessionId);
+                return;
+            }
         
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            logger.error("Failed to submit wrong answer - Session not found: {}", sessionId);
-            return;
-        }
-        
-        if (session.getCurrentPhase() != GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS) {
-            logger.error("Failed to submit wrong answer - Wrong phase. Current phase: {}", session.getCurrentPhase());
-            return;
-        }
+            if (session.getCurrentPhase() != GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS) {
+                logger.error("Failed to submit wrong answer - Wrong phase. Current phase: {}", session.getCurrentPhase());
+                return;
+            }
 
-        Player player = playerService.findPlayerById(session.getPlayers(), playerId);
-        if (player == null) {
-            logger.error("Failed to submit wrong answer - Player not found: {}", playerId);
-            return;
-        }
+            Player player = playerService.findPlayerById(session.getPlayers(), playerId);
+            if (player == null) {
+                logger.error("Failed to submit wrong answer - Player not found: {}", playerId);
+                return;
+            }
 
-        logger.info("Submitting wrong answer for player: {}", player.getUsername());
-        playerService.submitWrongAnswer(player, answer);
-        player.setHasAnswered(true); // Mark as answered
-        saveSession(session);
-        checkAllWrongAnswersSubmitted(session);
-        logger.info("Wrong answer submitted and session saved successfully");
+            logger.info("Submitting wrong answer for player: {}", player.getUsername());
+            playerService.submitWrongAnswer(player, answer);
+            player.setHasAnswered(true); // Mark as answered
+            saveSession(session);
+            checkAllWrongAnswersSubmitted(session);
+            logger.info("Wrong answer submitted and session saved successfully");
+        });
     }
 
     private void checkAllWrongAnswersSubmitted(GameSession session) {
-        boolean allSubmitted = session.getPlayers().stream().allMatch(Player::isHasAnswered);
+        boolean allSubmitted = session.getPlayers().stream().allMatch(p -> p.isHasAnswered() || p.isAway());
         if (allSubmitted) {
-            // Prepare final options for MCQ phase
-            Question currentQuestion = getLoadedCurrentQuestion(session);
-            Set<String> wrongAnswers = collectWrongAnswers(session);
-            int numberOfPlayers = session.getPlayers().size();
-            List<String> finalOptions = questionService.prepareFinalOptions(currentQuestion, wrongAnswers, numberOfPlayers, session.getLanguage());
-            logger.info("[checkAllWrongAnswersSubmitted] Setting finalOptions: {}", finalOptions);
-            session.setFinalOptions(finalOptions);
-
-            session.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
-            // Reset hasAnswered for MCQ phase
-            session.getPlayers().forEach(p -> p.setHasAnswered(false));
-            saveSession(session);
-            roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
+            closeWrongAnswers(session);
         }
     }
 
-    public void submitMCQAnswer(String sessionId, String playerId, String answer) {
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            logger.error("Failed to submit MCQ answer - Session not found: {}", sessionId);
-            return;
-        }
-        if (session.getCurrentPhase() != GameSession.QuestionPhase.MCQ_ANSWERING) {
-            logger.error("Failed to submit MCQ answer - Wrong phase. Current phase: {}", session.getCurrentPhase());
-            return;
-        }
-        Player player = playerService.findPlayerById(session.getPlayers(), playerId);
-        if (player == null) {
-            logger.error("Failed to submit MCQ answer - Player not found: {}", playerId);
-            return;
-        }
-        player.setCurrentAnswer(answer);
-        player.setHasAnswered(true);
+    // Moves on to the MCQ phase with whatever wrong answers were submitted
+    private void closeWrongAnswers(GameSession session) {
+        // Prepare final options for MCQ phase
+        Question currentQuestion = getLoadedCurrentQuestion(session);
+        Set<String> wrongAnswers = collectWrongAnswers(session);
+        int numberOfPlayers = session.getPlayers().size();
+        List<String> finalOptions = questionService.prepareFinalOptions(currentQuestion, wrongAnswers, numberOfPlayers, session.getLanguage());
+        logger.info("[closeWrongAnswers] Setting finalOptions: {}", finalOptions);
+        session.setFinalOptions(finalOptions);
+
+        session.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        // Reset hasAnswered for MCQ phase
+        session.getPlayers().forEach(p -> p.setHasAnswered(false));
         saveSession(session);
-        checkAllMCQAnswersSubmittedOrTimeout(session);
     }
 
-    private void checkAllMCQAnswersSubmittedOrTimeout(GameSession session) {
-        boolean allAnswered = session.getPlayers().stream().allMatch(Player::isHasAnswered);
-        if (allAnswered /* or timer expired */) {
-            updateScores(session);
-            session.setCurrentPhase(GameSession.QuestionPhase.ANSWERS_REVEAL);
-            session.getPlayers().forEach(p -> p.setHasAnswered(false));
+    public void submitMCQAnswer(String sessionId, String playerId, String answer) {
+        roomExecutor.execute(sessionId, () -> {
+            AnswerResult result = sessionStore.recordAnswer(
+                    sessionId, playerId, GameSession.QuestionPhase.MCQ_ANSWERING, answer);
+            if (result != null) {
+                applyRecordedAnswer(sessionId, playerId, GameSession.QuestionPhase.MCQ_ANSWERING, result,
+                        this::checkAllMCQAnswersSubmittedOrTimeout);
+                return;
+            }
+            submitMCQAnswerToSession(sessionId, playerId, answer);
+        });
+    }
+
+    private void submitMCQAnswerToSession(String sessionId, String playerId, String answer) {
+        unitOfWork.execute(() -> {
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                logger.error("Failed to submit MCQ answer - Session not found: {}", sessionId);
+                return;
+            }
+            if (session.getCurrentPhase() != GameSession.QuestionPhase.MCQ_ANSWERING) {
+                logger.error("Failed to submit MCQ answer - Wrong phase. Current phase: {}", session.getCurrentPhase());
+                return;
+            }
+            Player player = playerService.findPlayerById(session.getPlayers(), playerId);
+            if (player == null) {
+                logger.error("Failed to submit MCQ answer - Player not found: {}", playerId);
+                return;
+            }
+            player.setCurrentAnswer(answer);
+            player.setHasAnswered(true);
             saveSession(session);
-            roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
-        }
+            checkAllMCQAnswersSubmittedOrTimeout(session);
+        });
     }
 
-    public void moveToNextQuestion(String sessionId) {
-        logger.info("Attempting to move to next question for session: {}", sessionId);
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            logger.error("Failed to move to next question - Session not found: {}", sessionId);
-            return;
+    // The store already checked the phase and saved the answer; only the answer that completed the set moves the phase on
+    private void applyRecordedAnswer(String sessionId, String playerId, GameSession.QuestionPhase phase,
+                                     AnswerResult result, Consumer<GameSession> completePhase) {
+        switch (result.outcome()) {
+            case NO_SESSION -> logger.error("Failed to submit answer - Session not found: {}", sessionId);
+            case WRONG_PHASE -> logger.error("Failed to submit answer - Wrong phase for session: {}", sessionId);
+            case UNKNOWN_PLAYER -> logger.error("Failed to submit answer - Player not found: {}", playerId);
+            case RECORDED -> {
+                roomExecutor.committed(result.session());
+                roomWebSocketController.broadcastRoomUpdate(sessionId, result.session());
+            }
+            case ALL_ANSWERED -> unitOfWork.execute(() -> {
+                GameSession session = attach(result.session());
+                if (session != null && session.getCurrentPhase() == phase) {
+                    completePhase.accept(session);
+                }
+            });
         }
+    }
 
-        if (session.getCurrentRound() == session.getTotalRounds()) {
-            logger.info("Ending game for session {} as all rounds are complete.", sessionId);
-            endGame(session);
-            return;
+    private void checkAllMCQAnswersSubmittedOrTimeout(GameSession session) {
+        boolean allAnswered = session.getPlayers().stream().allMatch(p -> p.isHasAnswered() || p.isAway());
+        if (allAnswered) {
+            closeMcqAnswers(session);
         }
+    }
 
+    private void closeMcqAnswers(GameSession session) {
         updateScores(session);
-        session.setCurrentRound(session.getCurrentRound() + 1);
+        session.setCurrentPhase(GameSession.QuestionPhase.ANSWERS_REVEAL);
+        session.getPlayers().forEach(p -> p.setHasAnswered(false));
+        saveSession(session);
+    }
+
+    public void moveToNextQuestion(String sessionId) {
+        command(sessionId, () -> {
+            logger.info("Attempting to move to next question for session: {}", sessionId);
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                logger.error("Failed to move to next question - Session not found: {}", sessionId);
+                return;
+            }
+
+            if (session.getCurrentRound() == session.getTotalRounds()) {
+                logger.info("Ending game for session {} as all rounds are complete.", sessionId);
+                endGame(session);
+                return;
+            }
+
+            updateScores(session);
+            session.setCurrentRound(session.getCurrentRound() + 1);
         
-        // Reset category and difficulty selection for the new round
-        session.setSelectedCategory(null);
-        session.setSelectedDifficulty(null);
-        session.setCurrentQuestionId(null);
-        session.setCurrentPhase(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS);
-        session.setFinalOptions(new ArrayList<>());
+            // Reset category and difficulty selection for the new round
+            session.setSelectedCategory(null);
+            session.setSelectedDifficulty(null);
+            session.setCurrentQuestionId(null);
+            session.setCurrentPhase(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS);
+            session.setFinalOptions(new ArrayList<>());
         
-        logger.info("Moving to next question in round {} for session {}.", session.getCurrentRound(), sessionId);
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(sessionId, session);
+            logger.info("Moving to next question in round {} for session {}.", session.getCurrentRound(), sessionId);
+            saveSession(session);
+        });
     }
 
     private boolean canStartGame(GameSession session) {
@@ -335,10 +585,12 @@ public class GameService {
         Long randomCategoryId = session.getChosenCategoryIds().get(new Random().nextInt(session.getChosenCategoryIds().size()));
         int randomDifficulty = new Random().nextInt(2) + 1;
         
-        Question newQuestion = questionService.getRandomQuestion(randomCategoryId, randomDifficulty, session.getLanguage());
+        Question newQuestion = questionService.getRandomQuestion(randomCategoryId, randomDifficulty, session.getLanguage(),
+                session.getPlayedQuestions()::contains);
         if (newQuestion == null) {
             throw new IllegalStateException("Could not find a question for the given categories and difficulty: "+randomCategoryId);
         }
+        session.getPlayedQuestions().add(newQuestion.getId());
         session.setCurrentQuestionId(newQuestion.getId());
         session.setCurrentPhase(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS);
         session.setFinalOptions(new ArrayList<>());
@@ -415,13 +667,19 @@ public class GameService {
         return questionService.findById(session.getCurrentQuestionId());
     }
 
-    public void endGame(GameSession session) {
-        resetPlayerStates(session);
-        session.setFinalOptions(null);
-        session.setCurrentQuestionId(null);
-        session.setStatus(GameSession.GameStatus.FINISHED);
-        session.setEndTime(LocalDateTime.now());
-        saveSession(session);
+    public void endGame(GameSession loaded) {
+        command(loaded.getSessionId(), () -> {
+            GameSession session = attach(loaded);
+            if (session == null) {
+                return;
+            }
+            resetPlayerStates(session);
+            session.setFinalOptions(null);
+            session.setCurrentQuestionId(null);
+            session.setStatus(GameSession.GameStatus.FINISHED);
+            session.setEndTime(LocalDateTime.now());
+            saveSession(session);
+        });
     }
 
     public List<Player> getLeaderboard(String sessionId) {
@@ -446,140 +704,162 @@ public class GameService {
     }
 
     public GameSession selectCategory(String sessionId, String playerId, Long categoryId) {
-        logger.info("Selecting category {} for session {} by player {}", categoryId, sessionId, playerId);
+        return command(sessionId, () -> {
+            logger.info("Selecting category {} for session {} by player {}", categoryId, sessionId, playerId);
         
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            throw new IllegalArgumentException("Session not found: " + sessionId);
-        }
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                throw new IllegalArgumentException("Session not found: " + sessionId);
+            }
 
-        // Verify it's the correct player's turn
-        int currentPlayerIndex = (session.getCurrentRound() - 1) % session.getPlayers().size();
-        Player currentPlayer = session.getPlayers().get(currentPlayerIndex);
+            // Verify it's the correct player's turn
+            int currentPlayerIndex = (session.getCurrentRound() - 1) % session.getPlayers().size();
+            Player currentPlayer = session.getPlayers().get(currentPlayerIndex);
         
-        if (!currentPlayer.getId().equals(playerId)) {
-            throw new IllegalArgumentException("Not your turn to select category");
-        }
+            if (!currentPlayer.getId().equals(playerId)) {
+                throw new IllegalArgumentException("Not your turn to select category");
+            }
 
-        // Verify the category is in the chosen categories
-        if (!session.getChosenCategoryIds().contains(categoryId)) {
-            throw new IllegalArgumentException("Category not available: " + categoryId);
-        }
+            // Verify the category is in the chosen categories
+            if (!session.getChosenCategoryIds().contains(categoryId)) {
+                throw new IllegalArgumentException("Category not available: " + categoryId);
+            }
 
-        // Store the selected category
-        session.setSelectedCategory(categoryId); // Assuming setSelectedCategory exists
-        session.setCurrentPhase(GameSession.QuestionPhase.DIFFICULTY_SELECTION);
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(sessionId, session);
+            // Store the selected category
+            session.setSelectedCategory(categoryId); // Assuming setSelectedCategory exists
+            session.setCurrentPhase(GameSession.QuestionPhase.DIFFICULTY_SELECTION);
+            saveSession(session);
         
-        logger.info("Category {} selected successfully for session {}", categoryId, sessionId);
-        return session;
+            logger.info("Category {} selected successfully for session {}", categoryId, sessionId);
+            return session;
+        });
     }
 
     public GameSession selectDifficulty(String sessionId, String playerId, int difficulty, Long categoryId) {
-        logger.info("Selecting difficulty {} for session {} by player {} and category {}", difficulty, sessionId, playerId, categoryId);
-        GameSession session = getSession(sessionId);
-        if (session == null) {
-            throw new IllegalArgumentException("Session not found: " + sessionId);
-        }
-        // Verify it's the correct player's turn
-        int currentPlayerIndex = (session.getCurrentRound() - 1) % session.getPlayers().size();
-        Player currentPlayer = session.getPlayers().get(currentPlayerIndex);
-        if (!currentPlayer.getId().equals(playerId)) {
-            throw new IllegalArgumentException("Not your turn to select difficulty");
-        }
-        // Verify difficulty is valid
-        if (difficulty < 1 || difficulty > 3) {
-            throw new IllegalArgumentException("Invalid difficulty level: " + difficulty);
-        }
-        // Store the selected difficulty and get a question
-        session.setSelectedDifficulty(difficulty);
-        session.setSelectedCategory(categoryId);
-        // Get a question for the selected category and difficulty
-        Question question = questionService.getRandomQuestion(categoryId, difficulty, session.getLanguage());
-        if (question == null) {
-            throw new IllegalStateException("No question found for category " + categoryId + " and difficulty " + difficulty);
-        }
-        session.setCurrentQuestionId(question.getId());
-        session.setCurrentPhase(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS);
-        session.setFinalOptions(new ArrayList<>());
-        resetPlayerStates(session);
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(sessionId, session);
-        logger.info("Difficulty {} selected and question loaded for session {}", difficulty, sessionId);
-        return session;
+        return command(sessionId, () -> {
+            logger.info("Selecting difficulty {} for session {} by player {} and category {}", difficulty, sessionId, playerId, categoryId);
+            GameSession session = getSession(sessionId);
+            if (session == null) {
+                throw new IllegalArgumentException("Session not found: " + sessionId);
+            }
+            // Verify it's the correct player's turn
+            int currentPlayerIndex = (session.getCurrentRound() - 1) % session.getPlayers().size();
+            Player currentPlayer = session.getPlayers().get(currentPlayerIndex);
+            if (!currentPlayer.getId().equals(playerId)) {
+                throw new IllegalArgumentException("Not your turn to select difficulty");
+            }
+            // Verify difficulty is valid
+            if (difficulty < 1 || difficulty > 3) {
+                throw new IllegalArgumentException("Invalid difficulty level: " + difficulty);
+            }
+            // Store the selected difficulty and get a question
+            session.setSelectedDifficulty(difficulty);
+            session.setSelectedCategory(categoryId);
+            // Get a question for the selected category and difficulty
+            // Questions already played in this room, rematches included, are skipped while others remain
+            Long questionId = questionPrefetcher.take(sessionId, session.getCurrentRound(), categoryId, difficulty,
+                    session.getPlayedQuestions()::contains);
+            if (questionId == null) {
+                Question question = questionService.getRandomQuestion(categoryId, difficulty, session.getLanguage(),
+                        session.getPlayedQuestions()::contains);
+                if (question == null) {
+                    throw new IllegalStateException("No question found for category " + categoryId + " and difficulty " + difficulty);
+                }
+                questionId = question.getId();
+            }
+            session.getPlayedQuestions().add(questionId);
+            session.setCurrentQuestionId(questionId);
+            session.setCurrentPhase(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS);
+            session.setFinalOptions(new ArrayList<>());
+            resetPlayerStates(session);
+            saveSession(session);
+            logger.info("Difficulty {} selected and question loaded for session {}", difficulty, sessionId);
+            return session;
+        });
     }
 
     public void nextRoundOrFinish(String sessionId) {
-        GameSession session = getSession(sessionId);
-        if (session == null) return;
-        if (session.getCurrentRound() < session.getTotalRounds()) {
-            session.setCurrentRound(session.getCurrentRound() + 1);
-            session.setCurrentPhase(GameSession.QuestionPhase.CATEGORY_SELECTION);
-            session.setSelectedCategory(null);
-            session.setSelectedDifficulty(null);
-            session.setCurrentQuestionId(null);
-            session.setFinalOptions(new ArrayList<>());
-            // Reset per-round state for all players
-            session.getPlayers().forEach(p -> {
-                p.setHasAnswered(false);
-                p.setCurrentAnswer(null);
-                p.setWrongAnswerSubmitted(null);
-            });
-        } else {
-            session.setStatus(GameSession.GameStatus.FINISHED);
-        }
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(sessionId, session);
+        command(sessionId, () -> {
+            GameSession session = getSession(sessionId);
+            if (session == null) return;
+            if (session.getCurrentRound() < session.getTotalRounds()) {
+                session.setCurrentRound(session.getCurrentRound() + 1);
+                session.setCurrentPhase(GameSession.QuestionPhase.CATEGORY_SELECTION);
+                session.setSelectedCategory(null);
+                session.setSelectedDifficulty(null);
+                session.setCurrentQuestionId(null);
+                session.setFinalOptions(new ArrayList<>());
+                // Reset per-round state for all players
+                session.getPlayers().forEach(p -> {
+                    p.setHasAnswered(false);
+                    p.setCurrentAnswer(null);
+                    p.setWrongAnswerSubmitted(null);
+                });
+            } else {
+                session.setStatus(GameSession.GameStatus.FINISHED);
+            }
+            saveSession(session);
+        });
     }
 
-    public void handleWrongAnswerTimeout(GameSession session) {
-        // Prepare final options for MCQ phase even if not all players submitted
-        Question currentQuestion = getLoadedCurrentQuestion(session);
-        Set<String> wrongAnswers = collectWrongAnswers(session);
-        int numberOfPlayers = session.getPlayers().size();
-        List<String> finalOptions = questionService.prepareFinalOptions(currentQuestion, wrongAnswers, numberOfPlayers, session.getLanguage());
-        logger.info("[handleWrongAnswerTimeout] Setting finalOptions: {}", finalOptions);
-        session.setFinalOptions(finalOptions);
-
-        session.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
-        // Reset hasAnswered for MCQ phase
-        session.getPlayers().forEach(p -> p.setHasAnswered(false));
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
+    // Every client reports the timeout, and the server deadline may have beaten them all: only the first one in the phase counts
+    public void handleWrongAnswerTimeout(GameSession loaded) {
+        command(loaded.getSessionId(), () -> {
+            GameSession session = attach(loaded);
+            if (session == null || session.getCurrentPhase() != GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS) {
+                return;
+            }
+            closeWrongAnswers(session);
+        });
     }
 
-    public void handleMCQAnswerTimeout(GameSession session) {
-        updateScores(session);
-        session.setCurrentPhase(GameSession.QuestionPhase.ANSWERS_REVEAL);
-        session.getPlayers().forEach(p -> p.setHasAnswered(false));
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
+    public void handleMCQAnswerTimeout(GameSession loaded) {
+        command(loaded.getSessionId(), () -> {
+            GameSession session = attach(loaded);
+            if (session == null || session.getCurrentPhase() != GameSession.QuestionPhase.MCQ_ANSWERING) {
+                return;
+            }
+            closeMcqAnswers(session);
+        });
     }
 
-    public void moveToScoreDisplay(GameSession session) {
-        session.setCurrentPhase(GameSession.QuestionPhase.SCORE_DISPLAY);
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
+    public void moveToScoreDisplay(GameSession loaded) {
+        command(loaded.getSessionId(), () -> {
+            GameSession session = attach(loaded);
+            if (session == null) {
+                return;
+            }
+            session.setCurrentPhase(GameSession.QuestionPhase.SCORE_DISPLAY);
+            saveSession(session);
+        });
     }
 
-    public void resetGame(GameSession session) {
-        session.setCurrentRound(1);
-        session.setCurrentPhase(GameSession.QuestionPhase.LOBBY);
-        session.setStatus(GameSession.GameStatus.WAITING_FOR_PLAYERS);
-        session.setSelectedCategory(null);
-        session.setSelectedDifficulty(null);
-        session.setCurrentQuestionId(null);
-        session.setFinalOptions(new ArrayList<>());
-        session.getPlayers().forEach(player -> {
-            playerService.resetPlayerState(player);
-            playerService.resetPlayerScore(player);
+    public void resetGame(GameSession loaded) {
+        command(loaded.getSessionId(), () -> {
+            GameSession session = attach(loaded);
+            if (session == null) {
+                return;
+            }
+            session.setCurrentRound(1);
+            session.setCurrentPhase(GameSession.QuestionPhase.LOBBY);
+            session.setStatus(GameSession.GameStatus.WAITING_FOR_PLAYERS);
+            session.setSelectedCategory(null);
+            session.setSelectedDifficulty(null);
+            session.setCurrentQuestionId(null);
+            session.setFinalOptions(new ArrayList<>());
+            session.getPlayers().forEach(player -> {
+                playerService.resetPlayerState(player);
+                playerService.resetPlayerScore(player);
+            });
+            saveSession(session);
         });
-        saveSession(session);
-        roomWebSocketController.broadcastRoomUpdate(session.getSessionId(), session);
     }
 
     public int getActiveSessionCount() {
-        return redisTemplate.keys("game:*") != null ? redisTemplate.keys("game:*").size() : 0;
+        return (int) sessionStore.countActive();
+    }
+
+    public Map<String, Instant> getActiveRooms(int limit) {
+        return sessionStore.listActive(limit);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.game.global_quiz.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues the token a player presents at STOMP CONNECT to be named as that player, since
+ * player ids themselves are public in the room view. A token is an HMAC of the player id,
+ * so every node sharing the secret can check it without a lookup.
+ */
+@Service
+public class PlayerTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public PlayerTokenService(@Value("${game.players.token-secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("game.players.token-secret is not set; player tokens only verify on this node until it restarts");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String issue(String playerId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(playerId));
+    }
+
+    public boolean verify(String playerId, String token) {
+        if (playerId == null || playerId.isBlank() || token == null) {
+            return false;
+        }
+        byte[] presented;
+        try {
+            presented = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(mac(playerId), presented);
+    }
+
+    private byte[] mac(String playerId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(playerId.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.game.global_quiz.service;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.game.global_quiz.broadcast.RoomEncoding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks which players have a live STOMP connection on this node. A connection
+ * belongs to a player (the STOMP user named at CONNECT) once it subscribes to
+ * {@code /topic/room/{id}}. When a player's last connection to a room drops they are
+ * marked away, and removed from the room if they have not reconnected within the
+ * grace period.
+ */
+@Service
+public class PresenceService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PresenceService.class);
+    private static final String ROOM_TOPIC = "/topic/room/";
+
+    private final GameService gameService;
+    private final boolean enabled;
+    private final long graceMillis;
+    // STOMP session id -> the player and room it was bound to
+    private final Map<String, PlayerKey> connections = new ConcurrentHashMap<>();
+    // Live connections per player and room
+    private final Map<PlayerKey, Integer> connectionCounts = new ConcurrentHashMap<>();
+    private final Map<PlayerKey, ScheduledFuture<?>> evictions = new ConcurrentHashMap<>();
+    // Players with a presence update queued but not yet started; later changes ride along with it
+    private final Set<PlayerKey> pendingSyncs = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "room-presence");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Room commands block on the store, so they run off the event and timer threads
+    private final ExecutorService commands = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter evicted;
+
+    public PresenceService(GameService gameService,
+                           @Value("${game.rooms.presence.enabled:true}") boolean enabled,
+                           @Value("${game.rooms.presence.grace-ms:30000}") long graceMillis,
+                           MeterRegistry meterRegistry) {
+        this.gameService = gameService;
+        this.enabled = enabled;
+        this.graceMillis = graceMillis;
+        this.evicted = Counter.builder("game.rooms.presence.evictions")
+                .description("Players removed after staying away past the grace period")
+                .register(meterRegistry);
+        Gauge.builder("game.rooms.presence.connections", connections, Map::size).register(meterRegistry);
+        Gauge.builder("game.rooms.presence.away", evictions, Map::size).register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Principal user = event.getUser();
+        String roomCode = roomOf(SimpMessageHeaderAccessor.getDestination(event.getMessage().getHeaders()));
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (!enabled || user == null || roomCode == null || sessionId == null) {
+            return;
+        }
+        PlayerKey key = new PlayerKey(roomCode, user.getName());
+        PlayerKey previous = connections.put(sessionId, key);
+        if (key.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            disconnected(previous);
+        }
+        connectionCounts.merge(key, 1, Integer::sum);
+        ScheduledFuture<?> eviction = evictions.remove(key);
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        // Also clears an away flag set by another node
+        requestSync(key);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        PlayerKey key = connections.remove(event.getSessionId());
+        if (key != null) {
+            disconnected(key);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        commands.shutdown();
+    }
+
+    private void disconnected(PlayerKey key) {
+        Integer remaining = connectionCounts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        if (remaining != null) {
+            return;
+        }
+        requestSync(key);
+        evictions.compute(key, (k, pending) -> {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            return timer.schedule(() -> evict(k), graceMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void requestSync(PlayerKey key) {
+        if (pendingSyncs.add(key)) {
+            commands.execute(() -> syncPresence(key));
+        }
+    }
+
+    // Updates run in any order on the virtual threads, so the connection state is read inside the
+    // room command: whichever runs last in the room's mailbox applies the current state
+    private void syncPresence(PlayerKey key) {
+        pendingSyncs.remove(key);
+        try {
+            gameService.setPlayerAway(key.roomCode(), key.playerId(), () -> !connectionCounts.containsKey(key));
+        } catch (Exception e) {
+            logger.warn("Could not update presence of player {} in room {}: {}", key.playerId(), key.roomCode(), e.getMessage());
+        }
+    }
+
+    private void evict(PlayerKey key) {
+        evictions.remove(key);
+        if (connectionCounts.containsKey(key)) {
+            return;
+        }
+        commands.execute(() -> {
+            try {
+                if (gameService.removeAwayPlayer(key.roomCode(), key.playerId())) {
+                    evicted.increment();
+                }
+            } catch (Exception e) {
+                logger.warn("Could not remove away player {} from room {}: {}", key.playerId(), key.roomCode(), e.getMessage());
+            }
+        });
+    }
+
+    // The room of a /topic/room/{id} subscription, in either encoding
+    private static String roomOf(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_TOPIC)) {
+            return null;
+        }
+        String roomCode = destination.substring(ROOM_TOPIC.length());
+        if (roomCode.endsWith(RoomEncoding.CBOR.suffix())) {
+            roomCode = roomCode.substring(0, roomCode.length() - RoomEncoding.CBOR.suffix().length());
+        }
+        return roomCode.isEmpty() || roomCode.contains("/") ? null : roomCode;
+    }
+
+    private record PlayerKey(String roomCode, String playerId) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.game.global_quiz.service;
+
+// Published when an admin edits or deletes a question, so copies held elsewhere can be dropped
+public record QuestionChangedEvent(long questionId) {
+}
@@ -0,0 +1,204 @@
+package com.game.global_quiz.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.game.global_quiz.model.Question;
+import com.game.global_quiz.repository.QuestionRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Question ids by (category, difficulty), held as primitive arrays so a random question
+ * is an array index and a fetch by id rather than a shuffle of the table. Built once the
+ * app is ready, kept current by {@link QuestionService}'s writes, and rebuilt now and then
+ * to pick up writes made on other nodes.
+ */
+@Component
+public class QuestionIndex {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionIndex.class);
+    private static final int PAGE_SIZE = 10_000;
+    private static final int RANDOM_PROBES = 8;
+    static final int MIN_DIFFICULTY = 1;
+    static final int MAX_DIFFICULTY = 3;
+
+    private final QuestionRepository questionRepository;
+    private volatile Map<Long, Bucket> buckets;
+
+    public QuestionIndex(QuestionRepository questionRepository, MeterRegistry meterRegistry) {
+        this.questionRepository = questionRepository;
+        Gauge.builder("game.questions.index.size", this, QuestionIndex::size)
+                .description("Question ids held in the random-pick index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${game.questions.index.refresh-ms:600000}",
+               fixedDelayString = "${game.questions.index.refresh-ms:600000}")
+    public void rebuild() {
+        Map<Long, Bucket> rebuilt = new ConcurrentHashMap<>();
+        long afterId = 0;
+        int count = 0;
+        List<Object[]> page;
+        do {
+            page = questionRepository.findIndexEntriesAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+            for (Object[] row : page) {
+                afterId = (Long) row[0];
+                int difficulty = (Integer) row[2];
+                if (difficulty < MIN_DIFFICULTY || difficulty > MAX_DIFFICULTY) {
+                    logger.warn("Question {} has difficulty {} and is left out of the index", afterId, difficulty);
+                    continue;
+                }
+                rebuilt.computeIfAbsent(key((Long) row[1], difficulty), k -> new Bucket()).append(afterId);
+                count++;
+            }
+        } while (page.size() == PAGE_SIZE);
+        // A write landing during the rebuild may be missed until the next one
+        buckets = rebuilt;
+        logger.info("Indexed {} question(s) in {} category/difficulty bucket(s)", count, rebuilt.size());
+    }
+
+    public boolean isReady() {
+        return buckets != null;
+    }
+
+    // A random question id of the category and difficulty, or null if the index has none
+    public Long pick(Long categoryId, int difficulty) {
+        return pick(categoryId, difficulty, id -> false);
+    }
+
+    // As above, skipping excluded ids; null if every id in the bucket is excluded
+    public Long pick(Long categoryId, int difficulty, LongPredicate excluded) {
+        Map<Long, Bucket> current = buckets;
+        Bucket bucket = current == null ? null : current.get(key(categoryId, difficulty));
+        return bucket == null ? null : bucket.pick(excluded);
+    }
+
+    // Index changes follow the transaction that made them, once it commits
+    public void added(Question question) {
+        long id = question.getId();
+        long key = key(question.getCategory().getId(), question.getDifficulty());
+        afterCommit(() -> {
+            Map<Long, Bucket> current = buckets;
+            if (current != null) {
+                current.computeIfAbsent(key, k -> new Bucket()).add(id);
+            }
+        });
+    }
+
+    public void updated(Question question) {
+        removed(question.getId());
+        added(question);
+    }
+
+    public void removed(long id) {
+        afterCommit(() -> {
+            Map<Long, Bucket> current = buckets;
+            if (current != null) {
+                current.values().forEach(bucket -> bucket.remove(id));
+            }
+        });
+    }
+
+    private int size() {
+        Map<Long, Bucket> current = buckets;
+        return current == null ? 0 : current.values().stream().mapToInt(Bucket::size).sum();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // Category id and difficulty packed into one long; difficulty takes the low two bits
+    static long key(Long categoryId, int difficulty) {
+        if (difficulty < MIN_DIFFICULTY || difficulty > MAX_DIFFICULTY) {
+            throw new IllegalArgumentException("Invalid difficulty level: " + difficulty);
+        }
+        return (categoryId << 2) | difficulty;
+    }
+
+    // Ids in no particular order; removal swaps in the last id
+    private static final class Bucket {
+        private long[] ids = new long[16];
+        private int size;
+
+        // A few random probes, then a scan from a random start for a bucket that is mostly excluded
+        synchronized Long pick(LongPredicate excluded) {
+            if (size == 0) {
+                return null;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+                long id = ids[random.nextInt(size)];
+                if (!excluded.test(id)) {
+                    return id;
+                }
+            }
+            int start = random.nextInt(size);
+            for (int i = 0; i < size; i++) {
+                long id = ids[(start + i) % size];
+                if (!excluded.test(id)) {
+                    return id;
+                }
+            }
+            return null;
+        }
+
+        synchronized void add(long id) {
+            if (indexOf(id) < 0) {
+                append(id);
+            }
+        }
+
+        synchronized void append(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized void remove(long id) {
+            int index = indexOf(id);
+            if (index >= 0) {
+                ids[index] = ids[--size];
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
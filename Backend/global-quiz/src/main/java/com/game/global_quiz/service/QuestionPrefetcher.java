@@ -0,0 +1,179 @@
+package com.game.global_quiz.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.game.global_quiz.model.PlayedQuestions;
+import com.game.global_quiz.model.Question;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Picks a question for every category and difficulty a room's next chooser may ask for
+ * while the previous round's reveal and scores are on screen, so the choice itself is a
+ * map lookup. Candidates live on this node only; a miss (another node, a late prefetch,
+ * a changed question) falls back to {@link QuestionService#getRandomQuestion}.
+ */
+@Service
+public class QuestionPrefetcher implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionPrefetcher.class);
+
+    private final QuestionService questionService;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Executor executor;
+    // Room id -> candidates for its next selection
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public QuestionPrefetcher(QuestionService questionService,
+                              @Value("${game.questions.prefetch.enabled:true}") boolean enabled,
+                              @Value("${game.questions.prefetch.ttl-ms:120000}") long ttlMillis,
+                              @Value("${game.questions.prefetch.threads:2}") int threads,
+                              MeterRegistry meterRegistry) {
+        // A few threads so prefetching never takes over the connection pool
+        this(questionService, enabled, ttlMillis, Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "question-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        }), meterRegistry);
+    }
+
+    QuestionPrefetcher(QuestionService questionService, boolean enabled, long ttlMillis, Executor executor,
+                       MeterRegistry meterRegistry) {
+        this.questionService = questionService;
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.executor = executor;
+        this.hits = Counter.builder("game.questions.prefetch.picks").tag("result", "hit")
+                .description("Question selections served from, or missed by, prefetched candidates")
+                .register(meterRegistry);
+        this.misses = Counter.builder("game.questions.prefetch.picks").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("game.questions.prefetch.rooms", batches, Map::size).register(meterRegistry);
+    }
+
+    // For tests and callers that select questions on demand only
+    public static QuestionPrefetcher disabled(MeterRegistry meterRegistry) {
+        return new QuestionPrefetcher(null, false, 0, Runnable::run, meterRegistry);
+    }
+
+    /**
+     * Starts picking candidates for the room's selection in the given round, unless that
+     * is already under way. The categories and played set are copied before returning.
+     */
+    public void prefetch(String roomId, int round, List<Long> categoryIds, String lang, PlayedQuestions played) {
+        if (!enabled || categoryIds == null || categoryIds.isEmpty()) {
+            return;
+        }
+        Batch batch = new Batch(round, System.nanoTime());
+        Batch current = batches.compute(roomId, (id, existing) ->
+                existing != null && existing.round == round && !expired(existing) ? existing : batch);
+        if (current != batch) {
+            return;
+        }
+        List<Long> categories = List.copyOf(categoryIds);
+        PlayedQuestions excluded = played.copy();
+        try {
+            executor.execute(() -> fill(roomId, batch, categories, lang, excluded));
+        } catch (RejectedExecutionException e) {
+            batches.remove(roomId, batch);
+        }
+    }
+
+    /**
+     * The prefetched question id for this round's choice, or null on a miss. Either way the
+     * room's candidates are spent: the next selection is a round later.
+     */
+    public Long take(String roomId, int round, Long categoryId, int difficulty, LongPredicate played) {
+        if (!enabled) {
+            return null;
+        }
+        Batch batch = batches.remove(roomId);
+        Long id = batch == null || batch.round != round || expired(batch)
+                ? null : batch.ids.get(QuestionIndex.key(categoryId, difficulty));
+        if (id == null || played.test(id)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return id;
+    }
+
+    public void forget(String roomId) {
+        batches.remove(roomId);
+    }
+
+    // Only edits on this node are seen here; the time-to-live bounds how stale a candidate from elsewhere can get
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        long questionId = event.questionId();
+        batches.values().forEach(batch -> batch.ids.values().remove(questionId));
+    }
+
+    @Scheduled(fixedDelayString = "${game.questions.prefetch.ttl-ms:120000}")
+    public void evictExpired() {
+        batches.values().removeIf(this::expired);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private void fill(String roomId, Batch batch, List<Long> categoryIds, String lang, PlayedQuestions played) {
+        for (Long categoryId : categoryIds) {
+            for (int difficulty = QuestionIndex.MIN_DIFFICULTY; difficulty <= QuestionIndex.MAX_DIFFICULTY; difficulty++) {
+                if (batches.get(roomId) != batch) {
+                    // Taken, replaced or forgotten meanwhile
+                    return;
+                }
+                try {
+                    Question question = questionService.getRandomQuestion(categoryId, difficulty, lang, played::contains);
+                    if (question != null) {
+                        batch.ids.put(QuestionIndex.key(categoryId, difficulty), question.getId());
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Could not prefetch a question of category {} and difficulty {} for room {}",
+                            categoryId, difficulty, roomId, e);
+                }
+            }
+        }
+    }
+
+    private boolean expired(Batch batch) {
+        return System.nanoTime() - batch.createdNanos > ttlNanos;
+    }
+
+    private static final class Batch {
+        private final int round;
+        private final long createdNanos;
+        private final Map<Long, Long> ids = new ConcurrentHashMap<>();
+
+        Batch(int round, long createdNanos) {
+            this.round = round;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
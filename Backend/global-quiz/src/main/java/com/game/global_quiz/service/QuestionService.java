@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.LongPredicate;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
@@ -17,6 +18,7 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -35,13 +37,20 @@ import jakarta.persistence.criteria.Predicate;
 @Service
 public class QuestionService {
     private final QuestionRepository questionRepository;
+    private final QuestionIndex questionIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    // A picked id can be gone, or in another bucket, after writes on another node since the index was built
+    private static final int MAX_INDEX_PICKS = 3;
     private static final Logger logger = LoggerFactory.getLogger(QuestionService.class);
 
     @Autowired
     private CategoryService categoryService;
 
-    public QuestionService(QuestionRepository questionRepository) {
+    public QuestionService(QuestionRepository questionRepository, QuestionIndex questionIndex,
+                           ApplicationEventPublisher eventPublisher) {
         this.questionRepository = questionRepository;
+        this.questionIndex = questionIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -49,18 +58,45 @@ public class QuestionService {
         return questionRepository.findById(id).orElse(null);
     }
 
+    /**
+     * A random question of the category and difficulty that is not already played. Once
+     * every question there has been played, repeats are allowed rather than failing.
+     */
     @Transactional(readOnly = true)
-    public Question getRandomQuestion(Long categoryId, int difficulty, String lang) {
+    public Question getRandomQuestion(Long categoryId, int difficulty, String lang, LongPredicate played) {
         Category category = categoryService.findById(categoryId).orElse(null);
         if (category == null) return null;
+        if (questionIndex.isReady()) {
+            for (int attempt = 0; attempt < MAX_INDEX_PICKS; attempt++) {
+                Long id = questionIndex.pick(categoryId, difficulty, played);
+                if (id == null) {
+                    // Everything here was played: a repeat beats no question
+                    id = questionIndex.pick(categoryId, difficulty);
+                }
+                if (id == null) {
+                    break;
+                }
+                Question question = questionRepository.findById(id).orElse(null);
+                if (question == null) {
+                    questionIndex.removed(id);
+                } else if (question.getDifficulty() == difficulty && categoryId.equals(question.getCategory().getId())) {
+                    return question;
+                } else {
+                    questionIndex.updated(question);
+                }
+            }
+        }
+        // Until the index is built, or when it has nothing for this category and difficulty
         List<Question> questions = questionRepository
             .findRandomQuestionsByCategoryAndDifficulty(category, difficulty, PageRequest.of(0, 10))
             .getContent();
         if (questions.isEmpty()) {
             return null;
         }
+        List<Question> unplayed = questions.stream().filter(q -> !played.test(q.getId())).toList();
         Random rand = new Random();
-        return questions.get(rand.nextInt(questions.size()));
+        List<Question> candidates = unplayed.isEmpty() ? questions : unplayed;
+        return candidates.get(rand.nextInt(candidates.size()));
     }
 
     @Transactional(readOnly = true)
@@ -127,7 +163,9 @@ public class QuestionService {
         if (questionRepository.existsByQuestionTextFr(question.getQuestionTextFr())) {
             throw new IllegalArgumentException("A question with this text already exists");
         }
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        questionIndex.added(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -220,7 +258,10 @@ public class QuestionService {
         existingQuestion.setTrapAnswerEn(updatedQuestion.getTrapAnswerEn());
         existingQuestion.setTrapAnswerAr(updatedQuestion.getTrapAnswerAr());
 
-        return questionRepository.save(existingQuestion);
+        Question saved = questionRepository.save(existingQuestion);
+        questionIndex.updated(saved);
+        eventPublisher.publishEvent(new QuestionChangedEvent(id));
+        return saved;
     }
 
     @Transactional
@@ -229,6 +270,8 @@ public class QuestionService {
             throw new IllegalArgumentException("Question not found with id: " + id);
         }
         questionRepository.deleteById(id);
+        questionIndex.removed(id);
+        eventPublisher.publishEvent(new QuestionChangedEvent(id));
     }
 
     public Map<String, Object> importQuestionsFromExcel(MultipartFile file) {
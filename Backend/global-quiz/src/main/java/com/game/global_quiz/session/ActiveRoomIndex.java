@@ -0,0 +1,72 @@
+package com.game.global_quiz.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sorted set of sessionId -> last activity (epoch ms), maintained on every session
+ * write so active rooms can be counted and listed without scanning the keyspace.
+ */
+@Component
+@ConditionalOnProperty(name = "game.session.store", havingValue = "redis", matchIfMissing = true)
+public class ActiveRoomIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ActiveRoomIndex.class);
+    private static final String INDEX_KEY = "rooms:active";
+    // Matches the TTL of the game:{sessionId} keys
+    private static final Duration ENTRY_TTL = Duration.ofHours(2);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public ActiveRoomIndex(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void touch(String sessionId) {
+        redisTemplate.opsForZSet().add(INDEX_KEY, sessionId, System.currentTimeMillis());
+    }
+
+    public void remove(String sessionId) {
+        redisTemplate.opsForZSet().remove(INDEX_KEY, sessionId);
+    }
+
+    public long count() {
+        Long count = redisTemplate.opsForZSet().count(INDEX_KEY, cutoff(), Double.POSITIVE_INFINITY);
+        return count != null ? count : 0;
+    }
+
+    // Most recently active first
+    public Map<String, Instant> listActive(int limit) {
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(INDEX_KEY, cutoff(), Double.POSITIVE_INFINITY, 0, limit);
+        Map<String, Instant> rooms = new LinkedHashMap<>();
+        if (entries != null) {
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                rooms.put(entry.getValue(), Instant.ofEpochMilli(entry.getScore().longValue()));
+            }
+        }
+        return rooms;
+    }
+
+    @Scheduled(fixedDelayString = "${game.rooms.index.prune-interval-ms:60000}")
+    public void pruneExpired() {
+        Long removed = redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, cutoff());
+        if (removed != null && removed > 0) {
+            logger.info("Pruned {} expired room(s) from the active index", removed);
+        }
+    }
+
+    private double cutoff() {
+        return System.currentTimeMillis() - ENTRY_TTL.toMillis();
+    }
+}
@@ -0,0 +1,22 @@
+package com.game.global_quiz.session;
+
+import com.game.global_quiz.model.GameSession;
+
+/**
+ * Outcome of an answer recorded atomically by the store, with the session as it
+ * was right after the answer was applied (null unless the answer was recorded).
+ */
+public record AnswerResult(Outcome outcome, GameSession session) {
+
+    public enum Outcome {
+        RECORDED,
+        ALL_ANSWERED,
+        NO_SESSION,
+        WRONG_PHASE,
+        UNKNOWN_PLAYER
+    }
+
+    public boolean isRecorded() {
+        return outcome == Outcome.RECORDED || outcome == Outcome.ALL_ANSWERED;
+    }
+}
@@ -0,0 +1,378 @@
+package com.game.global_quiz.session;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.PlayedQuestions;
+import com.game.global_quiz.model.Player;
+
+/**
+ * Compact binary layout for GameSession values.
+ *
+ * A blob is MAGIC, a schema version, a string dictionary and then the fields as
+ * varints, enum ordinals and dictionary indexes. Blobs that start with '{' were
+ * written by the JSON serializer and are handed to the legacy reader, so keys
+ * written before the switch stay readable until they expire.
+ */
+public class GameSessionRedisSerializer implements RedisSerializer<GameSession> {
+    static final int MAGIC = 0xC5;
+    static final int SCHEMA_VERSION = 3;
+    // Version 1 blobs have no session version at the end and read as version 0;
+    // version 2 blobs have no played questions and read as none played
+    static final int OLDEST_READABLE_VERSION = 1;
+
+    private static final GameSession.GameStatus[] STATUSES = GameSession.GameStatus.values();
+    private static final GameSession.QuestionPhase[] PHASES = GameSession.QuestionPhase.values();
+
+    private final RedisSerializer<Object> legacySerializer;
+
+    public GameSessionRedisSerializer(RedisSerializer<Object> legacySerializer) {
+        this.legacySerializer = legacySerializer;
+    }
+
+    @Override
+    public byte[] serialize(GameSession session) throws SerializationException {
+        if (session == null) {
+            return new byte[0];
+        }
+        Dictionary dictionary = new Dictionary();
+        Output body = new Output(256);
+        writeSession(body, session, dictionary);
+
+        Output out = new Output(body.size() + dictionary.estimatedSize() + 8);
+        out.write(MAGIC);
+        out.writeVarInt(SCHEMA_VERSION);
+        dictionary.writeTo(out);
+        out.write(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    @Override
+    public GameSession deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == '{') {
+            return (GameSession) legacySerializer.deserialize(bytes);
+        }
+        if ((bytes[0] & 0xFF) != MAGIC) {
+            throw new SerializationException("Unknown GameSession encoding, first byte: " + (bytes[0] & 0xFF));
+        }
+        Input in = new Input(bytes, 1);
+        int version = in.readVarInt();
+        if (version < OLDEST_READABLE_VERSION || version > SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported GameSession schema version: " + version);
+        }
+        String[] strings = Dictionary.readFrom(in);
+        return readSession(in, strings, version);
+    }
+
+    private void writeSession(Output out, GameSession session, Dictionary dictionary) {
+        out.writeVarInt(dictionary.ref(session.getSessionId()));
+        out.writeVarInt(session.getStatus() != null ? session.getStatus().ordinal() + 1 : 0);
+        out.writeVarInt(session.getCurrentPhase() != null ? session.getCurrentPhase().ordinal() + 1 : 0);
+        out.writeNullableLong(session.getCurrentQuestionId());
+        out.writeDateTime(session.getStartTime());
+        out.writeDateTime(session.getEndTime());
+        out.writeVarInt(session.getMaxPlayers());
+        out.writeVarInt(session.getCurrentRound());
+        out.writeVarInt(session.getTotalRounds());
+        out.writeVarInt(session.getTimePerQuestion());
+        out.writeNullableLong(session.getSelectedCategory());
+        out.writeNullableLong(session.getSelectedDifficulty() != null ? session.getSelectedDifficulty().longValue() : null);
+        out.writeVarInt(dictionary.ref(session.getLanguage()));
+
+        List<Long> categoryIds = session.getChosenCategoryIds();
+        out.writeVarInt(categoryIds != null ? categoryIds.size() + 1 : 0);
+        if (categoryIds != null) {
+            for (Long id : categoryIds) {
+                out.writeNullableLong(id);
+            }
+        }
+
+        List<String> finalOptions = session.getFinalOptions();
+        out.writeVarInt(finalOptions != null ? finalOptions.size() + 1 : 0);
+        if (finalOptions != null) {
+            for (String option : finalOptions) {
+                out.writeVarInt(dictionary.ref(option));
+            }
+        }
+
+        List<Player> players = session.getPlayers();
+        out.writeVarInt(players != null ? players.size() + 1 : 0);
+        if (players != null) {
+            for (Player player : players) {
+                out.writeVarInt(dictionary.ref(player.getId()));
+                out.writeVarInt(dictionary.ref(player.getUsername()));
+                out.writeVarInt(dictionary.ref(player.getAvatarUrl()));
+                int flags = (player.isHost() ? 1 : 0)
+                        | (player.isReady() ? 2 : 0)
+                        | (player.isHasAnswered() ? 4 : 0)
+                        | (player.isAway() ? 8 : 0);
+                out.write(flags);
+                out.writeZigZag(player.getScore());
+                out.writeVarInt(dictionary.ref(player.getCurrentAnswer()));
+                out.writeVarInt(dictionary.ref(player.getWrongAnswerSubmitted()));
+            }
+        }
+        out.writeVarLong(session.getVersion());
+        byte[] played = session.getPlayedQuestions() != null ? session.getPlayedQuestions().toBytes() : new byte[0];
+        out.writeVarInt(played.length);
+        out.write(played);
+    }
+
+    private GameSession readSession(Input in, String[] strings, int schemaVersion) {
+        GameSession session = new GameSession();
+        session.setSessionId(string(strings, in.readVarInt()));
+        int status = in.readVarInt();
+        session.setStatus(status > 0 ? STATUSES[status - 1] : null);
+        int phase = in.readVarInt();
+        session.setCurrentPhase(phase > 0 ? PHASES[phase - 1] : null);
+        session.setCurrentQuestionId(in.readNullableLong());
+        session.setStartTime(in.readDateTime());
+        session.setEndTime(in.readDateTime());
+        session.setMaxPlayers(in.readVarInt());
+        session.setCurrentRound(in.readVarInt());
+        session.setTotalRounds(in.readVarInt());
+        session.setTimePerQuestion(in.readVarInt());
+        session.setSelectedCategory(in.readNullableLong());
+        Long difficulty = in.readNullableLong();
+        session.setSelectedDifficulty(difficulty != null ? difficulty.intValue() : null);
+        session.setLanguage(string(strings, in.readVarInt()));
+
+        int categoryCount = in.readVarInt();
+        List<Long> categoryIds = null;
+        if (categoryCount > 0) {
+            categoryIds = new ArrayList<>(categoryCount - 1);
+            for (int i = 0; i < categoryCount - 1; i++) {
+                categoryIds.add(in.readNullableLong());
+            }
+        }
+        session.setChosenCategoryIds(categoryIds);
+
+        int optionCount = in.readVarInt();
+        List<String> finalOptions = null;
+        if (optionCount > 0) {
+            finalOptions = new ArrayList<>(optionCount - 1);
+            for (int i = 0; i < optionCount - 1; i++) {
+                finalOptions.add(string(strings, in.readVarInt()));
+            }
+        }
+        session.setFinalOptions(finalOptions);
+
+        int playerCount = in.readVarInt();
+        List<Player> players = null;
+        if (playerCount > 0) {
+            players = new ArrayList<>(playerCount - 1);
+            for (int i = 0; i < playerCount - 1; i++) {
+                Player player = new Player();
+                player.setId(string(strings, in.readVarInt()));
+                player.setUsername(string(strings, in.readVarInt()));
+                player.setAvatarUrl(string(strings, in.readVarInt()));
+                int flags = in.read();
+                player.setHost((flags & 1) != 0);
+                player.setReady((flags & 2) != 0);
+                player.setHasAnswered((flags & 4) != 0);
+                player.setAway((flags & 8) != 0);
+                player.setScore(in.readZigZag());
+                player.setCurrentAnswer(string(strings, in.readVarInt()));
+                player.setWrongAnswerSubmitted(string(strings, in.readVarInt()));
+                players.add(player);
+            }
+        }
+        session.setPlayers(players);
+        if (schemaVersion >= 2) {
+            session.setVersion(in.readVarLong());
+        }
+        if (schemaVersion >= 3) {
+            try {
+                session.setPlayedQuestions(PlayedQuestions.fromBytes(in.readBytes(in.readVarInt())));
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException("Malformed played questions in GameSession blob", e);
+            }
+        }
+        return session;
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    // Distinct strings in first-use order; reference 0 means null
+    private static final class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int estimatedSize;
+
+        int ref(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = values.size() + 1;
+                indexes.put(value, index);
+                values.add(value);
+                estimatedSize += value.length() + 2;
+            }
+            return index;
+        }
+
+        int estimatedSize() {
+            return estimatedSize;
+        }
+
+        void writeTo(Output out) {
+            out.writeVarInt(values.size());
+            for (String value : values) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeVarInt(utf8.length);
+                out.write(utf8);
+            }
+        }
+
+        static String[] readFrom(Input in) {
+            String[] strings = new String[in.readVarInt()];
+            for (int i = 0; i < strings.length; i++) {
+                int length = in.readVarInt();
+                strings[i] = in.readUtf8(length);
+            }
+            return strings;
+        }
+    }
+
+    static final class Output extends ByteArrayOutputStream {
+        Output(int size) {
+            super(size);
+        }
+
+        @Override
+        public void write(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        // 0 encodes null, otherwise the zigzag value shifted by one
+        void writeNullableLong(Long value) {
+            if (value == null) {
+                write(0);
+            } else {
+                writeVarLong(((value << 1) ^ (value >> 63)) + 1);
+            }
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                write(0);
+                return;
+            }
+            write(1);
+            writeZigZag(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(value.getNano());
+        }
+    }
+
+    static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int read() {
+            if (position >= bytes.length) {
+                throw new SerializationException("Truncated GameSession blob");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (shift > 63) {
+                    throw new SerializationException("Malformed varint in GameSession blob");
+                }
+                b = read();
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        int readZigZag() {
+            long raw = readVarLong();
+            return (int) ((raw >>> 1) ^ -(raw & 1));
+        }
+
+        Long readNullableLong() {
+            long raw = readVarLong();
+            if (raw == 0) {
+                return null;
+            }
+            raw -= 1;
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        LocalDateTime readDateTime() {
+            if (read() == 0) {
+                return null;
+            }
+            long raw = readVarLong();
+            long epochSecond = (raw >>> 1) ^ -(raw & 1);
+            int nano = readVarInt();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+
+        byte[] readBytes(int length) {
+            if (position + length > bytes.length) {
+                throw new SerializationException("Truncated GameSession blob");
+            }
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        String readUtf8(int length) {
+            if (position + length > bytes.length) {
+                throw new SerializationException("Truncated GameSession blob");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.game.global_quiz.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Keeps sessions in this JVM for single-node deployments and load tests. Each entry
+ * holds the encoded session, so callers always get their own copy, and saves
+ * compare-and-set on the version like the Redis stores. Entries expire after the
+ * same TTL as the Redis keys.
+ */
+@Component
+@ConditionalOnProperty(name = "game.session.store", havingValue = "memory")
+public class InMemorySessionStore implements SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySessionStore.class);
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final GameSessionRedisSerializer codec = new GameSessionRedisSerializer(null);
+    private final Duration ttl;
+    private final Timer readTimer;
+    private final Timer writeTimer;
+
+    public InMemorySessionStore(@Value("${game.session.ttl:PT2H}") Duration ttl, MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.readTimer = Timer.builder("game.session.store.reads").tag("layout", "memory").register(meterRegistry);
+        this.writeTimer = Timer.builder("game.session.store.writes").tag("layout", "memory").register(meterRegistry);
+        Gauge.builder("game.session.store.size", sessions, Map::size)
+                .tag("layout", "memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GameSession load(String sessionId) {
+        return readTimer.record(() -> {
+            Entry entry = sessions.get(sessionId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                sessions.remove(sessionId, entry);
+                return null;
+            }
+            return codec.deserialize(entry.blob);
+        });
+    }
+
+    @Override
+    public void save(GameSession session) {
+        writeTimer.record(() -> {
+            long expected = session.getVersion();
+            long now = System.currentTimeMillis();
+            session.setVersion(expected + 1);
+            byte[] blob = codec.serialize(session);
+            Entry written = new Entry(blob, session.getVersion(),
+                    session.getStatus() != GameSession.GameStatus.FINISHED, now, now + ttl.toMillis());
+            Entry stored = sessions.compute(session.getSessionId(), (id, current) -> {
+                long currentVersion = current == null || current.isExpired(now) ? 0 : current.version;
+                return currentVersion == expected ? written : current;
+            });
+            if (stored != written) {
+                session.setVersion(expected);
+                throw new SessionConflictException(session.getSessionId(), expected);
+            }
+        });
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    @Override
+    public long countActive() {
+        long now = System.currentTimeMillis();
+        return sessions.values().stream().filter(entry -> entry.active && !entry.isExpired(now)).count();
+    }
+
+    @Override
+    public Map<String, Instant> listActive(int limit) {
+        long now = System.currentTimeMillis();
+        Map<String, Instant> rooms = new LinkedHashMap<>();
+        sessions.entrySet().stream()
+                .filter(e -> e.getValue().active && !e.getValue().isExpired(now))
+                .sorted(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().writtenAt).reversed())
+                .limit(limit)
+                .forEach(e -> rooms.put(e.getKey(), Instant.ofEpochMilli(e.getValue().writtenAt)));
+        return rooms;
+    }
+
+    @Scheduled(fixedDelayString = "${game.rooms.index.prune-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = sessions.size();
+        sessions.values().removeIf(entry -> entry.isExpired(now));
+        int evicted = before - sessions.size();
+        if (evicted > 0) {
+            logger.info("Evicted {} expired session(s) from memory", evicted);
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] blob;
+        private final long version;
+        private final boolean active;
+        private final long writtenAt;
+        private final long expiresAt;
+
+        private Entry(byte[] blob, long version, boolean active, long writtenAt, long expiresAt) {
+            this.blob = blob;
+            this.version = version;
+            this.active = active;
+            this.writtenAt = writtenAt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.game.global_quiz.session;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the size of every blob written and read, so the blob layout can be
+ * compared with the hash layout's field-level writes.
+ */
+public class MeteredSessionSerializer implements RedisSerializer<GameSession> {
+    private final RedisSerializer<GameSession> delegate;
+    private final DistributionSummary writtenBytes;
+    private final DistributionSummary readBytes;
+
+    public MeteredSessionSerializer(RedisSerializer<GameSession> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.writtenBytes = DistributionSummary.builder("game.session.store.write.bytes")
+                .baseUnit("bytes").tag("layout", "blob").register(meterRegistry);
+        this.readBytes = DistributionSummary.builder("game.session.store.read.bytes")
+                .baseUnit("bytes").tag("layout", "blob").register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(GameSession session) throws SerializationException {
+        byte[] bytes = delegate.serialize(session);
+        if (bytes != null) {
+            writtenBytes.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public GameSession deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            readBytes.record(bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+}
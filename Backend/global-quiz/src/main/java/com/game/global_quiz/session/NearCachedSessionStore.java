@@ -0,0 +1,262 @@
+package com.game.global_quiz.session;
+
+import java.net.SocketAddress;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import com.game.global_quiz.model.GameSession;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serves session reads from a local cache kept coherent with Redis client-side
+ * caching. A dedicated RESP3 connection runs CLIENT TRACKING in BCAST mode on the
+ * session key prefixes, and Redis pushes an invalidation whenever any node
+ * changes one of those keys. The cache is bypassed whenever tracking is not
+ * known to be active, e.g. while reconnecting.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${game.session.store:redis}' == 'redis' and ${game.session.near-cache.enabled:false}")
+public class NearCachedSessionStore implements SessionStore, InitializingBean, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(NearCachedSessionStore.class);
+    private static final String BLOB_PREFIX = "game:";
+    private static final String BLOB_VERSION_SUFFIX = ":version";
+    private static final String HASH_PREFIX = "room:";
+
+    private final SessionStore delegate;
+    private final RedisConnectionFactory connectionFactory;
+    private final GameSessionRedisSerializer codec = new GameSessionRedisSerializer(null);
+    private final Map<String, byte[]> entries;
+    // Bumped on every invalidation so a load racing one does not cache what it read
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private volatile boolean tracking;
+    private StatefulRedisConnection<String, String> trackingConnection;
+
+    public NearCachedSessionStore(@Qualifier("redisSessionStore") SessionStore delegate,
+                                  RedisConnectionFactory connectionFactory,
+                                  @Value("${game.session.near-cache.max-entries:10000}") int maxEntries,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.connectionFactory = connectionFactory;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("game.session.near-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("game.session.near-cache.requests").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder("game.session.near-cache.invalidations").register(meterRegistry);
+        Gauge.builder("game.session.near-cache.size", this, NearCachedSessionStore::size).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RedisClient client = (RedisClient) ((LettuceConnectionFactory) connectionFactory).getNativeClient();
+        client.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+                if (connection == trackingConnection) {
+                    // Invalidations may be lost while disconnected
+                    stopServing();
+                }
+            }
+
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress socketAddress) {
+                if (connection == trackingConnection) {
+                    // Tracking is per connection and does not survive a reconnect
+                    enableTracking();
+                }
+            }
+        });
+        trackingConnection = client.connect(StringCodec.UTF8);
+        trackingConnection.addListener(this::onPushMessage);
+        enableTracking();
+    }
+
+    @Override
+    public void destroy() {
+        stopServing();
+        if (trackingConnection != null) {
+            trackingConnection.close();
+        }
+    }
+
+    @Override
+    public GameSession load(String sessionId) {
+        if (!tracking) {
+            return delegate.load(sessionId);
+        }
+        byte[] cached;
+        synchronized (entries) {
+            cached = entries.get(sessionId);
+        }
+        if (cached != null) {
+            hits.increment();
+            return codec.deserialize(cached);
+        }
+        misses.increment();
+        long seen = invalidationCount.get();
+        GameSession loaded = delegate.load(sessionId);
+        if (loaded != null) {
+            byte[] encoded = codec.serialize(loaded);
+            synchronized (entries) {
+                if (tracking && invalidationCount.get() == seen) {
+                    entries.put(sessionId, encoded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public void save(GameSession session) {
+        save(session, null);
+    }
+
+    @Override
+    public GameSession snapshot(GameSession session) {
+        return delegate.snapshot(session);
+    }
+
+    // Local writes evict straight away; the invalidation push for them arrives a moment later
+    @Override
+    public void save(GameSession session, GameSession snapshot) {
+        try {
+            delegate.save(session, snapshot);
+        } finally {
+            invalidate(session.getSessionId());
+        }
+    }
+
+    @Override
+    public AnswerResult recordAnswer(String sessionId, String playerId, GameSession.QuestionPhase phase, String answer) {
+        try {
+            return delegate.recordAnswer(sessionId, playerId, phase, answer);
+        } finally {
+            invalidate(sessionId);
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        delegate.remove(sessionId);
+        invalidate(sessionId);
+    }
+
+    @Override
+    public long countActive() {
+        return delegate.countActive();
+    }
+
+    @Override
+    public Map<String, Instant> listActive(int limit) {
+        return delegate.listActive(limit);
+    }
+
+    void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> keyList) {
+            for (Object key : keyList) {
+                String sessionId = sessionIdOf(String.valueOf(key));
+                if (sessionId != null) {
+                    invalidate(sessionId);
+                }
+            }
+        } else {
+            // A null key list means Redis flushed everything it was tracking
+            invalidateAll();
+        }
+    }
+
+    void onTrackingEnabled() {
+        invalidateAll();
+        tracking = true;
+        logger.info("Session near-cache active");
+    }
+
+    static String sessionIdOf(String key) {
+        if (key.startsWith(BLOB_PREFIX)) {
+            String rest = key.substring(BLOB_PREFIX.length());
+            return rest.endsWith(BLOB_VERSION_SUFFIX)
+                    ? rest.substring(0, rest.length() - BLOB_VERSION_SUFFIX.length())
+                    : rest;
+        }
+        if (key.startsWith(HASH_PREFIX)) {
+            return key.substring(HASH_PREFIX.length());
+        }
+        return null;
+    }
+
+    private void enableTracking() {
+        trackingConnection.async()
+                .clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(BLOB_PREFIX, HASH_PREFIX))
+                .whenComplete((reply, error) -> {
+                    if (error != null) {
+                        logger.error("Could not enable client tracking, session near-cache stays off", error);
+                    } else {
+                        onTrackingEnabled();
+                    }
+                });
+    }
+
+    private void stopServing() {
+        tracking = false;
+        invalidateAll();
+    }
+
+    private void invalidate(String sessionId) {
+        invalidationCount.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(sessionId);
+        }
+        invalidations.increment();
+    }
+
+    private void invalidateAll() {
+        invalidationCount.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.game.global_quiz.session;
+
+/**
+ * Phase deadlines kept outside the JVM, so a room whose node goes away mid-phase
+ * still has the phase closed by a node that is still up. A stage is claimed before
+ * it fires; a claim is a lease, so a stage whose claimant dies comes due again.
+ */
+public interface PhaseDeadlines {
+
+    // Sets the room's deadline, replacing one for another stage; one for the same stage is kept
+    void schedule(String roomId, String stage, long deadlineMillis);
+
+    void cancel(String roomId);
+
+    // Claims a stage this node's own timer fired; false if another node holds it or it is gone
+    boolean claim(String roomId, String stage);
+
+    // Drops a stage once it has fired
+    void complete(String roomId, String stage);
+
+    // Where stages claimed on behalf of other nodes are delivered on this node
+    void setReceiver(Receiver receiver);
+
+    @FunctionalInterface
+    interface Receiver {
+        void expire(String roomId, String stage, long deadlineMillis);
+    }
+}
@@ -0,0 +1,207 @@
+package com.game.global_quiz.session;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+/**
+ * Phase deadlines for rooms, at most one per room, on a single hashed-wheel timer.
+ * A pending deadline costs one small wheel entry, so every open room can have one;
+ * deadlines are accurate to a tick. Expired deadlines run on virtual threads, since
+ * they usually run a room command.
+ * <p>
+ * With {@link PhaseDeadlines} present every deadline is also written there: this node
+ * claims a stage before running it, and a stage this node never gets to (because it
+ * went down) is claimed and run by another node.
+ */
+@Component
+public class PhaseTimer implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PhaseTimer.class);
+
+    private final HashedWheelTimer wheel;
+    private final ExecutorService executor;
+    private final PhaseDeadlines durable;
+    private final Map<String, Deadline> deadlines = new ConcurrentHashMap<>();
+    private final Counter fired;
+    private final Timer localLag;
+    private final Timer recoveredLag;
+    private volatile Handler handler;
+
+    public PhaseTimer(@Value("${game.rooms.timers.enabled:true}") boolean enabled,
+                      @Value("${game.rooms.timers.tick-ms:100}") long tickMillis,
+                      Optional<PhaseDeadlines> durable,
+                      MeterRegistry meterRegistry) {
+        if (enabled) {
+            this.wheel = new HashedWheelTimer(runnable -> {
+                Thread thread = new Thread(runnable, "phase-timer");
+                thread.setDaemon(true);
+                return thread;
+            }, tickMillis, TimeUnit.MILLISECONDS, 512);
+            this.executor = Executors.newVirtualThreadPerTaskExecutor();
+            this.durable = durable.orElse(null);
+        } else {
+            this.wheel = null;
+            this.executor = null;
+            this.durable = null;
+        }
+        this.fired = Counter.builder("game.rooms.timers.fired")
+                .description("Phase deadlines that expired")
+                .register(meterRegistry);
+        this.localLag = lagTimer("local", meterRegistry);
+        this.recoveredLag = lagTimer("recovered", meterRegistry);
+        Gauge.builder("game.rooms.timers.pending", deadlines, Map::size).register(meterRegistry);
+        if (this.durable != null) {
+            this.durable.setReceiver(this::recover);
+        }
+    }
+
+    // Never fires; for tests and tools that construct GameService by hand
+    public static PhaseTimer disabled(MeterRegistry meterRegistry) {
+        return new PhaseTimer(false, 0, Optional.empty(), meterRegistry);
+    }
+
+    public void setHandler(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Sets the room's deadline for a stage (e.g. phase and round). A deadline already
+     * pending for the same stage is kept, so re-saving a room does not push it back;
+     * one for another stage is replaced.
+     */
+    public void schedule(String roomId, String stage, long delayMillis) {
+        if (wheel == null) {
+            return;
+        }
+        long deadlineMillis = System.currentTimeMillis() + delayMillis;
+        Deadline[] created = new Deadline[1];
+        deadlines.compute(roomId, (id, current) -> {
+            if (current != null && current.stage.equals(stage)) {
+                return current;
+            }
+            if (current != null) {
+                current.timeout.cancel();
+            }
+            Deadline deadline = new Deadline(stage, deadlineMillis);
+            deadline.timeout = wheel.newTimeout(timeout -> expire(id, deadline), delayMillis, TimeUnit.MILLISECONDS);
+            created[0] = deadline;
+            return deadline;
+        });
+        if (created[0] != null && durable != null) {
+            try {
+                durable.schedule(roomId, stage, deadlineMillis);
+            } catch (RuntimeException e) {
+                logger.warn("Could not persist phase deadline for room {}: {}", roomId, e.getMessage());
+            }
+        }
+    }
+
+    public void cancel(String roomId) {
+        Deadline deadline = deadlines.remove(roomId);
+        if (deadline == null) {
+            return;
+        }
+        deadline.timeout.cancel();
+        if (durable != null) {
+            try {
+                durable.cancel(roomId);
+            } catch (RuntimeException e) {
+                // Left behind, it fires into a phase the room has left and is dropped
+                logger.warn("Could not cancel persisted phase deadline for room {}: {}", roomId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (wheel != null) {
+            // Deadlines still pending stay in the durable store for the other nodes
+            wheel.stop();
+            executor.shutdown();
+        }
+    }
+
+    private void expire(String roomId, Deadline deadline) {
+        if (!deadlines.remove(roomId, deadline)) {
+            return;
+        }
+        executor.execute(() -> {
+            if (durable != null && !claim(roomId, deadline.stage)) {
+                return;
+            }
+            run(roomId, deadline.stage, deadline.deadlineMillis, localLag);
+        });
+    }
+
+    // Without the store the stage runs anyway; the phase guard makes a second run harmless
+    private boolean claim(String roomId, String stage) {
+        try {
+            return durable.claim(roomId, stage);
+        } catch (RuntimeException e) {
+            logger.warn("Could not claim phase deadline {} for room {}: {}", stage, roomId, e.getMessage());
+            return true;
+        }
+    }
+
+    // A stage another node set and did not fire
+    private void recover(String roomId, String stage, long deadlineMillis) {
+        executor.execute(() -> run(roomId, stage, deadlineMillis, recoveredLag));
+    }
+
+    private void run(String roomId, String stage, long deadlineMillis, Timer lag) {
+        Handler target = handler;
+        if (target == null) {
+            return;
+        }
+        fired.increment();
+        lag.record(Math.max(0, System.currentTimeMillis() - deadlineMillis), TimeUnit.MILLISECONDS);
+        try {
+            target.expire(roomId, stage);
+            if (durable != null) {
+                durable.complete(roomId, stage);
+            }
+        } catch (RuntimeException e) {
+            // Not completed: with a durable store the stage comes due again when the claim lapses
+            logger.error("Phase deadline {} for room {} failed", stage, roomId, e);
+        }
+    }
+
+    private static Timer lagTimer(String source, MeterRegistry meterRegistry) {
+        return Timer.builder("game.rooms.timers.lag")
+                .description("How long after its deadline a phase deadline ran")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void expire(String roomId, String stage);
+    }
+
+    private static final class Deadline {
+        private final String stage;
+        private final long deadlineMillis;
+        private volatile Timeout timeout;
+
+        private Deadline(String stage, long deadlineMillis) {
+            this.stage = stage;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
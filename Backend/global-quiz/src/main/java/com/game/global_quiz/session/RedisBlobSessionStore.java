@@ -0,0 +1,101 @@
+package com.game.global_quiz.session;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Stores each session as a single value under game:{sessionId}, with its version
+ * kept next to it under game:{sessionId}:version so saves can compare-and-set
+ * without decoding the blob.
+ */
+// Registered under one name for both layouts so decorators can pick up whichever is active
+@Component("redisSessionStore")
+@ConditionalOnExpression("'${game.session.store:redis}' == 'redis' and '${game.session.layout:blob}' == 'blob'")
+public class RedisBlobSessionStore implements SessionStore {
+    private static final String KEY_PREFIX = "game:";
+    private static final String VERSION_SUFFIX = ":version";
+    private static final Duration SESSION_TTL = Duration.ofHours(2);
+    private static final RedisScript<Long> SAVE_SESSION =
+            RedisScript.of(new ClassPathResource("redis/save-session-blob.lua"), Long.class);
+    private static final RedisSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, GameSession> redisTemplate;
+    private final ActiveRoomIndex activeRoomIndex;
+    private final Timer readTimer;
+    private final Timer writeTimer;
+
+    public RedisBlobSessionStore(RedisTemplate<String, GameSession> redisTemplate,
+                                 ActiveRoomIndex activeRoomIndex,
+                                 MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.activeRoomIndex = activeRoomIndex;
+        this.readTimer = Timer.builder("game.session.store.reads").tag("layout", "blob").register(meterRegistry);
+        this.writeTimer = Timer.builder("game.session.store.writes").tag("layout", "blob").register(meterRegistry);
+    }
+
+    @Override
+    public GameSession load(String sessionId) {
+        return readTimer.record(() -> redisTemplate.opsForValue().get(KEY_PREFIX + sessionId));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void save(GameSession session) {
+        String key = KEY_PREFIX + session.getSessionId();
+        long expected = session.getVersion();
+        // The blob carries the version it will have once written
+        session.setVersion(expected + 1);
+        byte[] value = ((RedisSerializer<GameSession>) redisTemplate.getValueSerializer()).serialize(session);
+        Long updated = writeTimer.record(() -> redisTemplate.execute(SAVE_SESSION,
+                RedisSerializer.byteArray(), LONG_RESULT,
+                List.of(key, key + VERSION_SUFFIX),
+                utf8(expected), value, utf8(SESSION_TTL.toSeconds())));
+        if (updated == null || updated < 0) {
+            session.setVersion(expected);
+            throw new SessionConflictException(session.getSessionId(), expected);
+        }
+        session.setVersion(updated);
+        if (session.getStatus() == GameSession.GameStatus.FINISHED) {
+            activeRoomIndex.remove(session.getSessionId());
+        } else {
+            activeRoomIndex.touch(session.getSessionId());
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        String key = KEY_PREFIX + sessionId;
+        redisTemplate.delete(List.of(key, key + VERSION_SUFFIX));
+        activeRoomIndex.remove(sessionId);
+    }
+
+    @Override
+    public long countActive() {
+        return activeRoomIndex.count();
+    }
+
+    @Override
+    public Map<String, Instant> listActive(int limit) {
+        return activeRoomIndex.listActive(limit);
+    }
+
+    private static byte[] utf8(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
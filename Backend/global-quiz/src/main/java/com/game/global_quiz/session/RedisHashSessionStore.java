@@ -0,0 +1,379 @@
+package com.game.global_quiz.session;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.PlayedQuestions;
+import com.game.global_quiz.model.Player;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Stores each session as one Redis hash under room:{sessionId}. Header values are
+ * individual fields and every player attribute is a p.{playerId}.{attribute} field,
+ * so a save only sends the fields that changed since the session was loaded and
+ * score changes go out as HINCRBY. Saves run as a script that first checks the
+ * version field, so a save based on a stale load is rejected. Answers are recorded by a Lua script that checks
+ * the phase and reports whether every player has answered in the same round-trip.
+ */
+@Component("redisSessionStore")
+@ConditionalOnExpression("'${game.session.store:redis}' == 'redis' and '${game.session.layout:blob}' == 'hash'")
+public class RedisHashSessionStore implements SessionStore {
+    static final String KEY_PREFIX = "room:";
+    static final String STATUS = "status";
+    static final String PHASE = "phase";
+    static final String QUESTION_ID = "questionId";
+    static final String START_TIME = "startTime";
+    static final String END_TIME = "endTime";
+    static final String MAX_PLAYERS = "maxPlayers";
+    static final String ROUND = "round";
+    static final String TOTAL_ROUNDS = "totalRounds";
+    static final String TIME_PER_QUESTION = "timePerQuestion";
+    static final String SELECTED_CATEGORY = "selectedCategory";
+    static final String SELECTED_DIFFICULTY = "selectedDifficulty";
+    static final String LANGUAGE = "language";
+    static final String CATEGORIES = "categories";
+    static final String OPTIONS = "options";
+    static final String PLAYERS = "players";
+    static final String VERSION = "version";
+    static final String PLAYED = "played";
+
+    static final String PLAYER_PREFIX = "p.";
+    static final String NAME = "name";
+    static final String AVATAR = "avatar";
+    static final String HOST = "host";
+    static final String READY = "ready";
+    static final String ANSWERED = "answered";
+    static final String SCORE = "score";
+    static final String ANSWER = "answer";
+    static final String WRONG = "wrong";
+    static final String AWAY = "away";
+
+    private static final Duration SESSION_TTL = Duration.ofHours(2);
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_ANSWER =
+            RedisScript.of(new ClassPathResource("redis/record-answer.lua"), List.class);
+    private static final RedisScript<Long> SAVE_SESSION =
+            RedisScript.of(new ClassPathResource("redis/save-session-hash.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ActiveRoomIndex activeRoomIndex;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameSessionRedisSerializer copier = new GameSessionRedisSerializer(null);
+    private final Timer readTimer;
+    private final Timer writeTimer;
+    private final DistributionSummary writtenBytes;
+    private final DistributionSummary readBytes;
+    private final Timer answerTimer;
+
+    public RedisHashSessionStore(StringRedisTemplate redisTemplate,
+                                 ActiveRoomIndex activeRoomIndex,
+                                 MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.activeRoomIndex = activeRoomIndex;
+        this.readTimer = Timer.builder("game.session.store.reads").tag("layout", "hash").register(meterRegistry);
+        this.writeTimer = Timer.builder("game.session.store.writes").tag("layout", "hash").register(meterRegistry);
+        this.writtenBytes = DistributionSummary.builder("game.session.store.write.bytes")
+                .baseUnit("bytes").tag("layout", "hash").register(meterRegistry);
+        this.readBytes = DistributionSummary.builder("game.session.store.read.bytes")
+                .baseUnit("bytes").tag("layout", "hash").register(meterRegistry);
+        this.answerTimer = Timer.builder("game.session.store.answers").tag("layout", "hash").register(meterRegistry);
+    }
+
+    public static String key(String sessionId) {
+        return KEY_PREFIX + sessionId;
+    }
+
+    static String playerField(String playerId, String attribute) {
+        return PLAYER_PREFIX + playerId + "." + attribute;
+    }
+
+    @Override
+    public GameSession load(String sessionId) {
+        Map<String, String> fields = readTimer.record(() -> {
+            Map<String, String> entries = redisTemplate.<String, String>opsForHash().entries(key(sessionId));
+            readBytes.record(size(entries));
+            return entries;
+        });
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        return fromFields(sessionId, fields);
+    }
+
+    @Override
+    public void save(GameSession session) {
+        save(session, null);
+    }
+
+    @Override
+    public GameSession snapshot(GameSession session) {
+        return copier.deserialize(copier.serialize(session));
+    }
+
+    @Override
+    public void save(GameSession session, GameSession snapshot) {
+        String key = key(session.getSessionId());
+        Map<String, String> after = toFields(session);
+        Map<String, String> changed = new HashMap<>();
+        List<String> removed = new ArrayList<>();
+        Map<String, Long> increments = new HashMap<>();
+
+        // The version field is owned by the save script
+        after.remove(VERSION);
+        if (snapshot == null) {
+            changed.putAll(after);
+        } else {
+            Map<String, String> before = toFields(snapshot);
+            before.remove(VERSION);
+            after.forEach((field, value) -> {
+                String previous = before.get(field);
+                if (Objects.equals(previous, value)) {
+                    return;
+                }
+                if (previous != null && field.endsWith("." + SCORE)) {
+                    increments.put(field, Long.parseLong(value) - Long.parseLong(previous));
+                } else {
+                    changed.put(field, value);
+                }
+            });
+            before.keySet().stream().filter(field -> !after.containsKey(field)).forEach(removed::add);
+        }
+
+        List<String> args = new ArrayList<>();
+        long expected = session.getVersion();
+        args.add(String.valueOf(expected));
+        args.add(String.valueOf(SESSION_TTL.toSeconds()));
+        // Without a snapshot the hash is replaced, which drops fields of players no longer in the room
+        args.add(snapshot == null ? "1" : "0");
+        args.add(String.valueOf(changed.size()));
+        changed.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        args.add(String.valueOf(removed.size()));
+        args.addAll(removed);
+        args.add(String.valueOf(increments.size()));
+        increments.forEach((field, delta) -> {
+            args.add(field);
+            args.add(String.valueOf(delta));
+        });
+
+        Long updated = writeTimer.record(() -> redisTemplate.execute(SAVE_SESSION, List.of(key), args.toArray()));
+        if (updated == null || updated < 0) {
+            throw new SessionConflictException(session.getSessionId(), expected);
+        }
+        session.setVersion(updated);
+        writtenBytes.record(size(changed) + removed.stream().mapToInt(RedisHashSessionStore::utf8Length).sum()
+                + increments.keySet().stream().mapToInt(field -> utf8Length(field) + 8).sum());
+
+        if (session.getStatus() == GameSession.GameStatus.FINISHED) {
+            activeRoomIndex.remove(session.getSessionId());
+        } else {
+            activeRoomIndex.touch(session.getSessionId());
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        redisTemplate.delete(key(sessionId));
+        activeRoomIndex.remove(sessionId);
+    }
+
+    @Override
+    public long countActive() {
+        return activeRoomIndex.count();
+    }
+
+    @Override
+    public Map<String, Instant> listActive(int limit) {
+        return activeRoomIndex.listActive(limit);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public AnswerResult recordAnswer(String sessionId, String playerId, GameSession.QuestionPhase phase, String answer) {
+        String attribute = switch (phase) {
+            case COLLECTING_WRONG_ANSWERS -> WRONG;
+            case MCQ_ANSWERING -> ANSWER;
+            default -> throw new IllegalArgumentException("Answers are not collected in phase " + phase);
+        };
+        List<String> reply = answerTimer.record(() -> (List<String>) redisTemplate.execute(RECORD_ANSWER,
+                List.of(key(sessionId)),
+                phase.name(), playerId, attribute, answer != null ? answer : "", answer != null ? "1" : "0",
+                String.valueOf(SESSION_TTL.toSeconds())));
+        if (reply == null || reply.isEmpty()) {
+            throw new IllegalStateException("Empty reply from record-answer script for session " + sessionId);
+        }
+        AnswerResult.Outcome outcome = AnswerResult.Outcome.valueOf(reply.get(0));
+        if (reply.size() == 1) {
+            return new AnswerResult(outcome, null);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 1; i + 1 < reply.size(); i += 2) {
+            fields.put(reply.get(i), reply.get(i + 1));
+        }
+        return new AnswerResult(outcome, fromFields(sessionId, fields));
+    }
+
+    Map<String, String> toFields(GameSession session) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        put(fields, STATUS, session.getStatus());
+        put(fields, PHASE, session.getCurrentPhase());
+        put(fields, QUESTION_ID, session.getCurrentQuestionId());
+        put(fields, START_TIME, session.getStartTime());
+        put(fields, END_TIME, session.getEndTime());
+        put(fields, MAX_PLAYERS, session.getMaxPlayers());
+        put(fields, ROUND, session.getCurrentRound());
+        put(fields, TOTAL_ROUNDS, session.getTotalRounds());
+        put(fields, TIME_PER_QUESTION, session.getTimePerQuestion());
+        put(fields, SELECTED_CATEGORY, session.getSelectedCategory());
+        put(fields, SELECTED_DIFFICULTY, session.getSelectedDifficulty());
+        put(fields, LANGUAGE, session.getLanguage());
+        put(fields, VERSION, session.getVersion());
+        if (session.getPlayedQuestions() != null && !session.getPlayedQuestions().isEmpty()) {
+            fields.put(PLAYED, session.getPlayedQuestions().toBase64());
+        }
+        if (session.getChosenCategoryIds() != null) {
+            fields.put(CATEGORIES, session.getChosenCategoryIds().stream()
+                    .map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        if (session.getFinalOptions() != null) {
+            try {
+                fields.put(OPTIONS, objectMapper.writeValueAsString(session.getFinalOptions()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not encode final options", e);
+            }
+        }
+        if (session.getPlayers() != null) {
+            fields.put(PLAYERS, session.getPlayers().stream().map(Player::getId).collect(Collectors.joining(",")));
+            for (Player player : session.getPlayers()) {
+                String id = player.getId();
+                put(fields, playerField(id, NAME), player.getUsername());
+                put(fields, playerField(id, AVATAR), player.getAvatarUrl());
+                put(fields, playerField(id, HOST), flag(player.isHost()));
+                put(fields, playerField(id, READY), flag(player.isReady()));
+                put(fields, playerField(id, ANSWERED), flag(player.isHasAnswered()));
+                put(fields, playerField(id, SCORE), player.getScore());
+                put(fields, playerField(id, ANSWER), player.getCurrentAnswer());
+                put(fields, playerField(id, WRONG), player.getWrongAnswerSubmitted());
+                put(fields, playerField(id, AWAY), flag(player.isAway()));
+            }
+        }
+        return fields;
+    }
+
+    GameSession fromFields(String sessionId, Map<String, String> fields) {
+        GameSession session = new GameSession();
+        session.setSessionId(sessionId);
+        String status = fields.get(STATUS);
+        session.setStatus(status != null ? GameSession.GameStatus.valueOf(status) : null);
+        String phase = fields.get(PHASE);
+        session.setCurrentPhase(phase != null ? GameSession.QuestionPhase.valueOf(phase) : null);
+        session.setCurrentQuestionId(toLong(fields.get(QUESTION_ID)));
+        session.setStartTime(toDateTime(fields.get(START_TIME)));
+        session.setEndTime(toDateTime(fields.get(END_TIME)));
+        session.setMaxPlayers(toInt(fields.get(MAX_PLAYERS)));
+        session.setCurrentRound(toInt(fields.get(ROUND)));
+        session.setTotalRounds(toInt(fields.get(TOTAL_ROUNDS)));
+        session.setTimePerQuestion(toInt(fields.get(TIME_PER_QUESTION)));
+        session.setSelectedCategory(toLong(fields.get(SELECTED_CATEGORY)));
+        String difficulty = fields.get(SELECTED_DIFFICULTY);
+        session.setSelectedDifficulty(difficulty != null ? Integer.valueOf(difficulty) : null);
+        session.setLanguage(fields.get(LANGUAGE));
+        String version = fields.get(VERSION);
+        session.setVersion(version != null ? Long.parseLong(version) : 0);
+        String played = fields.get(PLAYED);
+        session.setPlayedQuestions(played != null
+                ? PlayedQuestions.fromBase64(played) : new PlayedQuestions());
+
+        String categories = fields.get(CATEGORIES);
+        session.setChosenCategoryIds(categories == null ? null : categories.isEmpty() ? new ArrayList<>()
+                : Arrays.stream(categories.split(",")).map(Long::valueOf).collect(Collectors.toCollection(ArrayList::new)));
+        String options = fields.get(OPTIONS);
+        try {
+            session.setFinalOptions(options != null ? objectMapper.readValue(options, STRING_LIST) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not decode final options of session " + sessionId, e);
+        }
+
+        String playerIds = fields.get(PLAYERS);
+        List<Player> players = null;
+        if (playerIds != null) {
+            players = new ArrayList<>();
+            for (String id : playerIds.isEmpty() ? new String[0] : playerIds.split(",")) {
+                Player player = new Player();
+                player.setId(id);
+                player.setUsername(fields.get(playerField(id, NAME)));
+                player.setAvatarUrl(fields.get(playerField(id, AVATAR)));
+                player.setHost("1".equals(fields.get(playerField(id, HOST))));
+                player.setReady("1".equals(fields.get(playerField(id, READY))));
+                player.setHasAnswered("1".equals(fields.get(playerField(id, ANSWERED))));
+                player.setScore(toInt(fields.get(playerField(id, SCORE))));
+                player.setCurrentAnswer(fields.get(playerField(id, ANSWER)));
+                player.setWrongAnswerSubmitted(fields.get(playerField(id, WRONG)));
+                player.setAway("1".equals(fields.get(playerField(id, AWAY))));
+                players.add(player);
+            }
+        }
+        session.setPlayers(players);
+        return session;
+    }
+
+    private static void put(Map<String, String> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value.toString());
+        }
+    }
+
+    private static String flag(boolean value) {
+        return value ? "1" : "0";
+    }
+
+    private static Long toLong(String value) {
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    private static int toInt(String value) {
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+
+    private static LocalDateTime toDateTime(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+
+    private static int size(Map<String, String> fields) {
+        int size = 0;
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            size += utf8Length(entry.getKey()) + utf8Length(entry.getValue());
+        }
+        return size;
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
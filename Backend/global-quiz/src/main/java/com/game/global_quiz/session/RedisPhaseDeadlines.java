@@ -0,0 +1,127 @@
+package com.game.global_quiz.session;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Phase deadlines in a Redis sorted set ({@code sessionId:stage} -> deadline, epoch ms),
+ * with a hash from room to its current member so a room has at most one. Each node
+ * polls for deadlines that are overdue by more than the hand-off time, i.e. ones the
+ * node that set them did not fire, and claims them in batches under a lease.
+ */
+@Component
+@ConditionalOnProperty(name = "game.session.store", havingValue = "redis", matchIfMissing = true)
+public class RedisPhaseDeadlines implements PhaseDeadlines {
+    private static final Logger logger = LoggerFactory.getLogger(RedisPhaseDeadlines.class);
+    private static final String DEADLINES_KEY = "rooms:deadlines";
+    private static final String ROOMS_KEY = "rooms:deadlines:rooms";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM =
+            RedisScript.of(new ClassPathResource("redis/claim-deadlines.lua"), List.class);
+    private static final RedisScript<Long> SCHEDULE =
+            RedisScript.of(new ClassPathResource("redis/schedule-deadline.lua"), Long.class);
+    private static final RedisScript<Long> REMOVE =
+            RedisScript.of(new ClassPathResource("redis/remove-deadline.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long handoffMillis;
+    private final long leaseMillis;
+    private final int batchSize;
+    private final Counter recovered;
+    private volatile Receiver receiver;
+
+    public RedisPhaseDeadlines(StringRedisTemplate redisTemplate,
+                               @Value("${game.rooms.timers.handoff-ms:1000}") long handoffMillis,
+                               @Value("${game.rooms.timers.lease-ms:10000}") long leaseMillis,
+                               @Value("${game.rooms.timers.batch-size:100}") int batchSize,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.handoffMillis = handoffMillis;
+        this.leaseMillis = leaseMillis;
+        this.batchSize = batchSize;
+        this.recovered = Counter.builder("game.rooms.timers.recovered")
+                .description("Phase deadlines claimed by a node other than the one that set them")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(String roomId, String stage, long deadlineMillis) {
+        redisTemplate.execute(SCHEDULE, List.of(DEADLINES_KEY, ROOMS_KEY),
+                roomId, member(roomId, stage), String.valueOf(deadlineMillis));
+    }
+
+    @Override
+    public void cancel(String roomId) {
+        redisTemplate.execute(REMOVE, List.of(DEADLINES_KEY, ROOMS_KEY), roomId);
+    }
+
+    @Override
+    public boolean claim(String roomId, String stage) {
+        long now = System.currentTimeMillis();
+        // The hand-off time also covers clock skew with the node that set the deadline
+        List<String> claimed = claim(now + handoffMillis, now + leaseMillis, member(roomId, stage));
+        return !claimed.isEmpty();
+    }
+
+    @Override
+    public void complete(String roomId, String stage) {
+        redisTemplate.execute(REMOVE, List.of(DEADLINES_KEY, ROOMS_KEY), roomId, member(roomId, stage));
+    }
+
+    @Override
+    public void setReceiver(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Scheduled(fixedDelayString = "${game.rooms.timers.poll-ms:500}")
+    public void pollOverdue() {
+        Receiver target = receiver;
+        if (target == null) {
+            return;
+        }
+        try {
+            List<String> claimed;
+            do {
+                long now = System.currentTimeMillis();
+                claimed = claim(now - handoffMillis, now + leaseMillis, null);
+                for (int i = 0; i + 1 < claimed.size(); i += 2) {
+                    String member = claimed.get(i);
+                    int separator = member.indexOf(':');
+                    recovered.increment();
+                    target.expire(member.substring(0, separator), member.substring(separator + 1),
+                            (long) Double.parseDouble(claimed.get(i + 1)));
+                }
+            } while (claimed.size() / 2 >= batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Could not poll phase deadlines: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> claim(long dueBy, long leaseUntil, String member) {
+        List<String> args = new ArrayList<>(List.of(String.valueOf(dueBy), String.valueOf(leaseUntil), String.valueOf(batchSize)));
+        if (member != null) {
+            args.add(member);
+        }
+        List<String> claimed = redisTemplate.execute(CLAIM, List.of(DEADLINES_KEY), args.toArray());
+        return claimed != null ? claimed : List.of();
+    }
+
+    // Session ids are UUIDs, so the first ':' ends the room id
+    private static String member(String roomId, String stage) {
+        return roomId + ":" + stage;
+    }
+}
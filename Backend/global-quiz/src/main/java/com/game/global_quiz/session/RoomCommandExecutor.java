@@ -0,0 +1,231 @@
+package com.game.global_quiz.session;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs every command for a room on that room's mailbox, one at a time, so commands
+ * for the same room never interleave. Mailboxes are drained on virtual threads.
+ *
+ * The mailbox also keeps the last state it committed (encoded, so every command
+ * works on its own copy). Commands load that instead of reading the store again,
+ * and the state is dropped whenever a command fails or a write conflicts.
+ */
+@Component
+public class RoomCommandExecutor implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(RoomCommandExecutor.class);
+
+    private final boolean enabled;
+    private final long idleMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mailbox> currentMailbox = new ThreadLocal<>();
+    private final GameSessionRedisSerializer codec = new GameSessionRedisSerializer(null);
+    private final Timer queueWait;
+    private final Timer commandTime;
+    private final Counter warmLoads;
+    private final Counter coldLoads;
+
+    public RoomCommandExecutor(@Value("${game.rooms.actor.enabled:true}") boolean enabled,
+                               @Value("${game.rooms.actor.idle-ms:600000}") long idleMillis,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.idleMillis = idleMillis;
+        this.queueWait = Timer.builder("game.rooms.commands.wait")
+                .description("Time a command waited in its room mailbox")
+                .register(meterRegistry);
+        this.commandTime = Timer.builder("game.rooms.commands")
+                .description("Time spent running room commands")
+                .register(meterRegistry);
+        this.warmLoads = Counter.builder("game.rooms.state.loads").tag("source", "mailbox")
+                .register(meterRegistry);
+        this.coldLoads = Counter.builder("game.rooms.state.loads").tag("source", "store")
+                .register(meterRegistry);
+        Gauge.builder("game.rooms.mailboxes", mailboxes, Map::size).register(meterRegistry);
+    }
+
+    // Runs commands inline on the calling thread; for tests and tools that construct GameService by hand
+    public static RoomCommandExecutor inline(MeterRegistry meterRegistry) {
+        return new RoomCommandExecutor(false, 0, meterRegistry);
+    }
+
+    public void execute(String sessionId, Runnable command) {
+        execute(sessionId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(String sessionId, Supplier<T> command) {
+        if (!enabled || sessionId == null) {
+            return command.get();
+        }
+        Mailbox current = currentMailbox.get();
+        if (current != null && current.sessionId.equals(sessionId)) {
+            // Nested command for the same room: already on its mailbox
+            return command.get();
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        enqueue(sessionId, mailbox -> () -> {
+            queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            currentMailbox.set(mailbox);
+            try {
+                result.complete(commandTime.record(command));
+            } catch (Throwable e) {
+                mailbox.state = null;
+                result.completeExceptionally(e);
+            } finally {
+                currentMailbox.remove();
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    // Inside a room command, the state left by the previous command; otherwise the store
+    public GameSession load(String sessionId, Function<String, GameSession> storeLoader) {
+        Mailbox mailbox = currentMailbox.get();
+        if (mailbox == null || !mailbox.sessionId.equals(sessionId)) {
+            return storeLoader.apply(sessionId);
+        }
+        byte[] state = mailbox.state;
+        if (state != null) {
+            warmLoads.increment();
+            return codec.deserialize(state);
+        }
+        coldLoads.increment();
+        GameSession loaded = storeLoader.apply(sessionId);
+        if (loaded != null) {
+            mailbox.state = codec.serialize(loaded);
+        }
+        return loaded;
+    }
+
+    // Records state that has just been written to the store
+    public void committed(GameSession session) {
+        Mailbox mailbox = currentMailbox.get();
+        if (mailbox != null && mailbox.sessionId.equals(session.getSessionId())) {
+            mailbox.state = codec.serialize(session);
+        }
+    }
+
+    // Drops the remembered state, e.g. after a write conflict or when the room is removed
+    public void forget(String sessionId) {
+        Mailbox mailbox = mailboxes.get(sessionId);
+        if (mailbox != null) {
+            mailbox.state = null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.rooms.index.prune-interval-ms:60000}")
+    public void retireIdleMailboxes() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        mailboxes.values().removeIf(mailbox -> mailbox.retireIfIdleSince(cutoff));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void enqueue(String sessionId, Function<Mailbox, Runnable> task) {
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(sessionId, Mailbox::new);
+            if (mailbox.offer(task.apply(mailbox))) {
+                return;
+            }
+            // Retired between lookup and offer: the next lookup creates a fresh mailbox
+            mailboxes.remove(sessionId, mailbox);
+        }
+    }
+
+    private final class Mailbox {
+        private final String sessionId;
+        private final Queue<Runnable> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean retired;
+        private long lastUsed = System.currentTimeMillis();
+        // Only touched by the command currently running for this room
+        private volatile byte[] state;
+
+        private Mailbox(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        private boolean offer(Runnable task) {
+            synchronized (this) {
+                if (retired) {
+                    return false;
+                }
+                queue.add(task);
+                lastUsed = System.currentTimeMillis();
+                if (draining) {
+                    return true;
+                }
+                draining = true;
+            }
+            executor.execute(this::drain);
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = queue.poll();
+                    if (task == null) {
+                        draining = false;
+                        lastUsed = System.currentTimeMillis();
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Room command for session {} escaped its handler", sessionId, e);
+                }
+            }
+        }
+
+        private synchronized boolean retireIfIdleSince(long cutoff) {
+            if (draining || !queue.isEmpty() || lastUsed > cutoff) {
+                return false;
+            }
+            retired = true;
+            return true;
+        }
+    }
+}
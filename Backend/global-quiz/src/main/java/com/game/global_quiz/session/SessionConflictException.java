@@ -0,0 +1,24 @@
+package com.game.global_quiz.session;
+
+/**
+ * Thrown when a session is saved against a version that another writer has
+ * already replaced.
+ */
+public class SessionConflictException extends RuntimeException {
+    private final String sessionId;
+    private final long expectedVersion;
+
+    public SessionConflictException(String sessionId, long expectedVersion) {
+        super("Session " + sessionId + " changed since version " + expectedVersion);
+        this.sessionId = sessionId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
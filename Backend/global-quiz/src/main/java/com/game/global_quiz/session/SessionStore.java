@@ -0,0 +1,39 @@
+package com.game.global_quiz.session;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.game.global_quiz.model.GameSession;
+
+/**
+ * Storage for live game sessions, selected with game.session.store (redis or memory)
+ * and, for Redis, game.session.layout (blob or hash).
+ */
+public interface SessionStore {
+
+    GameSession load(String sessionId);
+
+    void save(GameSession session);
+
+    void remove(String sessionId);
+
+    // Sessions written within the TTL that have not finished
+    long countActive();
+
+    // sessionId -> last write, most recently active first
+    Map<String, Instant> listActive(int limit);
+
+    // Stores with a field-level layout return a detached copy to diff against on save; null means "always rewrite"
+    default GameSession snapshot(GameSession session) {
+        return null;
+    }
+
+    default void save(GameSession session, GameSession snapshot) {
+        save(session);
+    }
+
+    // Checks the phase and records the answer in one atomic step; null means the caller must load, mutate and save
+    default AnswerResult recordAnswer(String sessionId, String playerId, GameSession.QuestionPhase phase, String answer) {
+        return null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.game.global_quiz.session;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collects the session writes made by one game command and flushes each dirty
+ * session once when the outermost command completes. The writer also receives the
+ * snapshot taken when the session was first loaded (null if there is none), so
+ * stores that support it can write only what changed. A command whose flush hits a
+ * version conflict is re-run from scratch against fresh state, up to maxAttempts.
+ */
+public class SessionUnitOfWork {
+    private static final Logger logger = LoggerFactory.getLogger(SessionUnitOfWork.class);
+
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+    private final UnaryOperator<GameSession> snapshotter;
+    private final BiConsumer<GameSession, GameSession> writer;
+    private final Counter requestedWrites;
+    private final Counter flushedWrites;
+    private final Counter elidedWrites;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final int maxAttempts;
+
+    public SessionUnitOfWork(UnaryOperator<GameSession> snapshotter,
+                             BiConsumer<GameSession, GameSession> writer,
+                             int maxAttempts,
+                             MeterRegistry meterRegistry) {
+        this.snapshotter = snapshotter;
+        this.writer = writer;
+        this.maxAttempts = maxAttempts;
+        this.requestedWrites = Counter.builder("game.session.writes.requested")
+                .description("saveSession calls made by game commands")
+                .register(meterRegistry);
+        this.flushedWrites = Counter.builder("game.session.writes.flushed")
+                .description("Session writes actually sent to the store")
+                .register(meterRegistry);
+        this.elidedWrites = Counter.builder("game.session.writes.elided")
+                .description("Session writes coalesced into a later flush")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("game.session.conflicts")
+                .description("Session writes rejected because the session changed since it was loaded")
+                .register(meterRegistry);
+        this.retries = Counter.builder("game.session.retries")
+                .description("Game commands re-run after a version conflict")
+                .register(meterRegistry);
+    }
+
+    public void execute(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (currentScope.get() != null) {
+            // Nested command: join the outer unit of work
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            Scope scope = new Scope(attempt > 1);
+            currentScope.set(scope);
+            T result;
+            try {
+                result = work.get();
+            } catch (RuntimeException | Error e) {
+                // Writes requested before a failure are still flushed, as they were when saves were eager
+                currentScope.remove();
+                flushAfterFailure(scope, e);
+                throw e;
+            }
+            currentScope.remove();
+            try {
+                flush(scope);
+                return result;
+            } catch (SessionConflictException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    logger.warn("Giving up on session {} after {} conflicting attempt(s)", e.getSessionId(), attempt);
+                    throw e;
+                }
+                retries.increment();
+                logger.debug("Session {} changed concurrently, retrying command (attempt {})", e.getSessionId(), attempt + 1);
+            }
+        }
+    }
+
+    public GameSession load(String sessionId, Function<String, GameSession> loader) {
+        Scope scope = currentScope.get();
+        if (scope == null) {
+            return loader.apply(sessionId);
+        }
+        GameSession loaded = scope.loaded.get(sessionId);
+        if (loaded == null) {
+            loaded = loader.apply(sessionId);
+            if (loaded != null) {
+                scope.loaded.put(sessionId, loaded);
+                GameSession snapshot = snapshotter.apply(loaded);
+                if (snapshot != null) {
+                    scope.snapshots.put(sessionId, snapshot);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public void save(GameSession session) {
+        requestedWrites.increment();
+        Scope scope = currentScope.get();
+        if (scope == null) {
+            write(session, null);
+            return;
+        }
+        scope.loaded.put(session.getSessionId(), session);
+        if (scope.dirty.put(session.getSessionId(), session) != null) {
+            elidedWrites.increment();
+        }
+    }
+
+    public boolean isActive() {
+        return currentScope.get() != null;
+    }
+
+    // True while re-running a command after a version conflict: state handed in by the caller is stale
+    public boolean isRetry() {
+        Scope scope = currentScope.get();
+        return scope != null && scope.retry;
+    }
+
+    private void flush(Scope scope) {
+        for (GameSession session : scope.dirty.values()) {
+            write(session, scope.snapshots.get(session.getSessionId()));
+        }
+        if (!scope.dirty.isEmpty()) {
+            logger.debug("Flushed {} session(s) at end of command", scope.dirty.size());
+        }
+    }
+
+    private void flushAfterFailure(Scope scope, Throwable failure) {
+        try {
+            flush(scope);
+        } catch (SessionConflictException e) {
+            conflicts.increment();
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void write(GameSession session, GameSession snapshot) {
+        writer.accept(session, snapshot);
+        flushedWrites.increment();
+    }
+
+    private static final class Scope {
+        private final boolean retry;
+        private final Map<String, GameSession> loaded = new HashMap<>();
+        private final Map<String, GameSession> dirty = new LinkedHashMap<>();
+        private final Map<String, GameSession> snapshots = new HashMap<>();
+
+        private Scope(boolean retry) {
+            this.retry = retry;
+        }
+    }
+}
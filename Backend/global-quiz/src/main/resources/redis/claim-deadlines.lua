@@ -0,0 +1,20 @@
+-- Claims due phase deadlines by moving their score out to the lease expiry, so no other
+-- node claims them until the lease runs out.
+-- KEYS[1] deadlines zset
+-- ARGV[1] due cutoff (epoch ms), ARGV[2] lease expiry (epoch ms), ARGV[3] batch size, ARGV[4] member (optional: claim only it)
+-- Returns member, deadline pairs.
+local due
+if ARGV[4] then
+  local score = redis.call('ZSCORE', KEYS[1], ARGV[4])
+  if score and tonumber(score) <= tonumber(ARGV[1]) then
+    due = {ARGV[4], score}
+  else
+    due = {}
+  end
+else
+  due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, tonumber(ARGV[3]))
+end
+for i = 1, #due, 2 do
+  redis.call('ZADD', KEYS[1], 'XX', ARGV[2], due[i])
+end
+return due
@@ -0,0 +1,49 @@
+-- Records one player's answer on a room:{sessionId} hash.
+-- KEYS[1] room hash
+-- ARGV[1] expected phase, ARGV[2] player id, ARGV[3] answer attribute,
+-- ARGV[4] answer, ARGV[5] '1' if the answer is present, ARGV[6] TTL in seconds
+-- Returns the outcome followed by the hash contents (field, value, ...).
+-- The rooms:active index is left alone: the save that opened the answering phase touched it
+-- moments ago, and the save that closes the phase touches it again.
+local key = KEYS[1]
+local phase = redis.call('HGET', key, 'phase')
+if not phase then
+  return {'NO_SESSION'}
+end
+if phase ~= ARGV[1] then
+  return {'WRONG_PHASE'}
+end
+
+local prefix = 'p.' .. ARGV[2] .. '.'
+if redis.call('HEXISTS', key, prefix .. 'host') == 0 then
+  return {'UNKNOWN_PLAYER'}
+end
+
+local alreadyAnswered = redis.call('HGET', key, prefix .. 'answered') == '1'
+if ARGV[5] == '1' then
+  redis.call('HSET', key, prefix .. ARGV[3], ARGV[4], prefix .. 'answered', '1')
+else
+  redis.call('HDEL', key, prefix .. ARGV[3])
+  redis.call('HSET', key, prefix .. 'answered', '1')
+end
+redis.call('HINCRBY', key, 'version', 1)
+redis.call('EXPIRE', key, ARGV[6])
+
+-- Only the answer that completes the set reports it, so the phase transition runs once.
+-- Players marked away are not waited for.
+local outcome = 'RECORDED'
+if not alreadyAnswered then
+  outcome = 'ALL_ANSWERED'
+  local players = redis.call('HGET', key, 'players') or ''
+  for id in string.gmatch(players, '[^,]+') do
+    if redis.call('HGET', key, 'p.' .. id .. '.answered') ~= '1'
+        and redis.call('HGET', key, 'p.' .. id .. '.away') ~= '1' then
+      outcome = 'RECORDED'
+      break
+    end
+  end
+end
+
+local reply = redis.call('HGETALL', key)
+table.insert(reply, 1, outcome)
+return reply
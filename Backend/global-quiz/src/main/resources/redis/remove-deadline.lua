@@ -0,0 +1,13 @@
+-- Removes a room's phase deadline.
+-- KEYS[1] deadlines zset, KEYS[2] roomId -> member hash
+-- ARGV[1] roomId, ARGV[2] member (optional)
+-- Given a member, only that stage goes; the room's entry is kept if it has moved on to another stage.
+local current = redis.call('HGET', KEYS[2], ARGV[1])
+if ARGV[2] then
+  redis.call('ZREM', KEYS[1], ARGV[2])
+end
+if current and (not ARGV[2] or current == ARGV[2]) then
+  redis.call('ZREM', KEYS[1], current)
+  redis.call('HDEL', KEYS[2], ARGV[1])
+end
+return 1
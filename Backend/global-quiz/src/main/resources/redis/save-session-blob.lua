@@ -0,0 +1,12 @@
+-- Compare-and-set write of a game:{sessionId} blob.
+-- KEYS[1] session value, KEYS[2] version counter
+-- ARGV[1] expected version, ARGV[2] encoded session (already carrying the new version), ARGV[3] TTL in seconds
+-- Returns the new version, or -1 if the stored version is not the expected one.
+local current = tonumber(redis.call('GET', KEYS[2]) or '0')
+if current ~= tonumber(ARGV[1]) then
+  return -1
+end
+local updated = current + 1
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+redis.call('SET', KEYS[2], updated, 'EX', ARGV[3])
+return updated
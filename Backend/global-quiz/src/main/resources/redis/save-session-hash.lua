@@ -0,0 +1,38 @@
+-- Compare-and-set write of a room:{sessionId} hash.
+-- KEYS[1] room hash
+-- ARGV[1] expected version, ARGV[2] TTL in seconds, ARGV[3] '1' to replace the whole hash,
+-- then a count and that many field/value pairs to set,
+-- then a count and that many fields to delete,
+-- then a count and that many field/increment pairs.
+-- Returns the new version, or -1 if the stored version is not the expected one.
+local key = KEYS[1]
+local current = tonumber(redis.call('HGET', key, 'version') or '0')
+if current ~= tonumber(ARGV[1]) then
+  return -1
+end
+if ARGV[3] == '1' then
+  redis.call('DEL', key)
+end
+
+local i = 4
+local count = tonumber(ARGV[i])
+for n = 1, count do
+  redis.call('HSET', key, ARGV[i + 2 * n - 1], ARGV[i + 2 * n])
+end
+i = i + 2 * count + 1
+
+count = tonumber(ARGV[i])
+for n = 1, count do
+  redis.call('HDEL', key, ARGV[i + n])
+end
+i = i + count + 1
+
+count = tonumber(ARGV[i])
+for n = 1, count do
+  redis.call('HINCRBY', key, ARGV[i + 2 * n - 1], ARGV[i + 2 * n])
+end
+
+local updated = current + 1
+redis.call('HSET', key, 'version', updated)
+redis.call('EXPIRE', key, ARGV[2])
+return updated
@@ -0,0 +1,11 @@
+-- Sets a room's phase deadline, dropping the room's deadline for any other stage.
+-- KEYS[1] deadlines zset (member -> deadline ms), KEYS[2] roomId -> member hash
+-- ARGV[1] roomId, ARGV[2] member, ARGV[3] deadline (epoch ms)
+-- A deadline already set for the same stage keeps its score.
+local previous = redis.call('HGET', KEYS[2], ARGV[1])
+if previous and previous ~= ARGV[2] then
+  redis.call('ZREM', KEYS[1], previous)
+end
+redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+redis.call('ZADD', KEYS[1], 'NX', ARGV[3], ARGV[2])
+return 1
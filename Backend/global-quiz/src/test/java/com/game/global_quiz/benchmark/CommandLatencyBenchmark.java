@@ -0,0 +1,127 @@
+package com.game.global_quiz.benchmark;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import com.game.global_quiz.dto.CommandAckDTO;
+import com.game.global_quiz.dto.RoomCommandDTO;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.service.GameService;
+
+/**
+ * End-to-end latency of the same game command (ready toggle) sent as a REST call
+ * and as a STOMP message acked on /user/queue/acks, against a running server with
+ * the in-memory session store. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "game.session.store=memory")
+class CommandLatencyBenchmark {
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 2_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    void compareRestAndStomp() throws Exception {
+        GameSession session = gameService.createGameSession("host-1", "Host", "/assets/avatar1.png",
+                8, 10, 30, List.of(1L), "en");
+        gameService.addPlayerToSession(session.getSessionId(), "player-1", "Player", "/assets/avatar2.png");
+
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest toggle = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/rooms/"
+                + session.getSessionId() + "/players/player-1/ready"))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        long[] rest = measure(() -> http.send(toggle, HttpResponse.BodyHandlers.discarding()));
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession stomp = stompClient.connectAsync("http://localhost:" + port + "/ws",
+                new StompSessionHandlerAdapter() { }).get(5, TimeUnit.SECONDS);
+        Map<String, CompletableFuture<CommandAckDTO>> pending = new ConcurrentHashMap<>();
+        stomp.subscribe("/user/queue/acks", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return CommandAckDTO.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                CommandAckDTO ack = (CommandAckDTO) payload;
+                pending.remove(ack.getRequestId()).complete(ack);
+            }
+        });
+        String destination = "/app/room/" + session.getSessionId() + "/ready";
+        long[] sequence = {0};
+        long[] viaStomp = measure(() -> {
+            RoomCommandDTO command = new RoomCommandDTO();
+            command.setRequestId(String.valueOf(sequence[0]++));
+            command.setPlayerId("player-1");
+            CompletableFuture<CommandAckDTO> ack = new CompletableFuture<>();
+            pending.put(command.getRequestId(), ack);
+            stomp.send(destination, command);
+            ack.get(5, TimeUnit.SECONDS);
+        });
+        stomp.disconnect();
+        stompClient.stop();
+
+        System.out.printf("%-6s %10s %10s %10s%n", "path", "mean us", "p50 us", "p99 us");
+        report("rest", rest);
+        report("stomp", viaStomp);
+    }
+
+    private long[] measure(Command command) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            command.run();
+        }
+        long[] micros = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            command.run();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros;
+    }
+
+    private void report(String path, long[] micros) {
+        long mean = (long) Arrays.stream(micros).average().orElse(0);
+        System.out.printf("%-6s %10d %10d %10d%n", path, mean,
+                micros[micros.length / 2], micros[(int) (micros.length * 0.99)]);
+    }
+
+    @FunctionalInterface
+    private interface Command {
+        void run() throws Exception;
+    }
+}
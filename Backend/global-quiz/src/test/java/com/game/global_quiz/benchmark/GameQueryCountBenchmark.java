@@ -0,0 +1,82 @@
+package com.game.global_quiz.benchmark;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Question;
+import com.game.global_quiz.repository.QuestionRepository;
+import com.game.global_quiz.service.GameService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * JDBC statements a full two-player game issues, played through {@link GameService}
+ * against the configured database and the seeded questions, for a first game and a
+ * second one on the same node. Prefetching is off so every question choice is counted
+ * on the game path. Run with: mvn test -Pbenchmark, and again with
+ * -DDB_SECOND_LEVEL_CACHE=false for the uncached numbers.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "game.session.store=memory",
+        "game.questions.prefetch.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class GameQueryCountBenchmark {
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void countQueriesPerGame() {
+        List<Question> questions = questionRepository.findAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        System.out.printf("%-6s %12s %10s %10s %10s%n", "game", "statements", "l2 hits", "l2 misses", "l2 puts");
+        for (int game = 1; game <= 2; game++) {
+            statistics.clear();
+            playGame(questions);
+            System.out.printf("%-6d %12d %10d %10d %10d%n", game, statistics.getPrepareStatementCount(),
+                    statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                    statistics.getSecondLevelCachePutCount());
+        }
+    }
+
+    private void playGame(List<Question> questions) {
+        GameSession session = gameService.createGameSession("host-1", "Host", "/assets/avatar1.png",
+                8, ROUNDS, 30, List.of(), "en");
+        String sessionId = session.getSessionId();
+        gameService.addPlayerToSession(sessionId, "player-1", "Player", "/assets/avatar2.png");
+        gameService.togglePlayerReadyState(sessionId, "player-1");
+        gameService.startGame(sessionId);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            GameSession current = gameService.getSession(sessionId);
+            String chooser = current.getPlayers().get((round - 1) % current.getPlayers().size()).getId();
+            Question pick = questions.get(round % questions.size());
+            gameService.selectCategory(sessionId, chooser, pick.getCategory().getId());
+            gameService.selectDifficulty(sessionId, chooser, pick.getDifficulty(), pick.getCategory().getId());
+            gameService.submitWrongAnswer(sessionId, "host-1", "wrong " + round);
+            gameService.submitWrongAnswer(sessionId, "player-1", "other " + round);
+            List<String> options = gameService.getSession(sessionId).getFinalOptions();
+            gameService.submitMCQAnswer(sessionId, "host-1", options.get(0));
+            gameService.submitMCQAnswer(sessionId, "player-1", options.get(options.size() - 1));
+            gameService.moveToScoreDisplay(gameService.getSession(sessionId));
+            gameService.nextRoundOrFinish(sessionId);
+        }
+        gameService.removeSession(sessionId);
+    }
+}
@@ -0,0 +1,114 @@
+package com.game.global_quiz.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.game.global_quiz.repository.QuestionRepository;
+import com.game.global_quiz.service.QuestionIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of choosing a random question of one category and difficulty, with the question
+ * index against the work {@code ORDER BY RANDOM() LIMIT 10} makes the database do: scan
+ * the table, draw a random key per matching row, keep the 10 lowest. The SQL side runs
+ * in memory on rows already loaded, so it leaves out I/O and the round trip and is a
+ * lower bound on the real query. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class QuestionPickBenchmark {
+    private static final int CATEGORIES = 20;
+    private static final int DIFFICULTIES = 3;
+    private static final int INDEX_ITERATIONS = 1_000_000;
+
+    @Test
+    void compareIndexWithRandomSort() {
+        System.out.printf("%-10s %14s %14s %16s%n", "questions", "index ns/op", "sql ns/op", "index build ms");
+        for (int questions : new int[] {10_000, 100_000, 1_000_000}) {
+            long[][] rows = table(questions);
+
+            long buildStart = System.nanoTime();
+            QuestionIndex index = index(rows);
+            long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+            long sink = 0;
+            for (int i = 0; i < INDEX_ITERATIONS; i++) {
+                sink += index.pick(1L + i % CATEGORIES, 1 + i % DIFFICULTIES);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < INDEX_ITERATIONS; i++) {
+                sink += index.pick(1L + i % CATEGORIES, 1 + i % DIFFICULTIES);
+            }
+            long indexNanos = (System.nanoTime() - start) / INDEX_ITERATIONS;
+
+            int sqlIterations = Math.max(20, 20_000_000 / questions);
+            for (int i = 0; i < sqlIterations; i++) {
+                sink += randomSortPick(rows, 1 + i % CATEGORIES, 1 + i % DIFFICULTIES);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < sqlIterations; i++) {
+                sink += randomSortPick(rows, 1 + i % CATEGORIES, 1 + i % DIFFICULTIES);
+            }
+            long sqlNanos = (System.nanoTime() - start) / sqlIterations;
+
+            System.out.printf("%-10d %14d %14d %16d%n", questions, indexNanos, sqlNanos, buildMillis);
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+    }
+
+    // id, category id, difficulty
+    private static long[][] table(int questions) {
+        SplittableRandom random = new SplittableRandom(7);
+        long[][] rows = new long[questions][];
+        for (int i = 0; i < questions; i++) {
+            rows[i] = new long[] {i + 1, 1 + random.nextInt(CATEGORIES), 1 + random.nextInt(DIFFICULTIES)};
+        }
+        return rows;
+    }
+
+    private static QuestionIndex index(long[][] rows) {
+        QuestionRepository repository = mock(QuestionRepository.class);
+        when(repository.findIndexEntriesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int pageSize = invocation.<Pageable>getArgument(1).getPageSize();
+            List<Object[]> page = new ArrayList<>(pageSize);
+            for (int i = (int) afterId; i < rows.length && page.size() < pageSize; i++) {
+                page.add(new Object[] {rows[i][0], rows[i][1], (int) rows[i][2]});
+            }
+            return page;
+        });
+        QuestionIndex index = new QuestionIndex(repository, new SimpleMeterRegistry());
+        index.rebuild();
+        return index;
+    }
+
+    private static long randomSortPick(long[][] rows, long categoryId, int difficulty) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Max-heap on the random key keeps the 10 rows with the lowest keys
+        PriorityQueue<double[]> lowest = new PriorityQueue<>(11, (a, b) -> Double.compare(b[0], a[0]));
+        for (long[] row : rows) {
+            if (row[1] == categoryId && row[2] == difficulty) {
+                lowest.add(new double[] {random.nextDouble(), row[0]});
+                if (lowest.size() > 10) {
+                    lowest.poll();
+                }
+            }
+        }
+        List<double[]> page = new ArrayList<>(lowest);
+        return page.isEmpty() ? 0 : (long) page.get(random.nextInt(page.size()))[1];
+    }
+}
@@ -0,0 +1,58 @@
+package com.game.global_quiz.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.game.global_quiz.broadcast.RoomUpdate;
+import com.game.global_quiz.broadcast.RoomView;
+import com.game.global_quiz.model.GameSession;
+
+/**
+ * Bytes and encode time of a GameSession, and of the room snapshot frame built
+ * from it, with the Jackson JSON output against CBOR. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class RoomEncodingBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    private final ObjectMapper json = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper cbor = json.copyWith(new CBORFactory());
+
+    @Test
+    void compareEncodings() throws Exception {
+        System.out.printf("%-8s %-9s %-5s %10s %12s%n", "players", "payload", "codec", "bytes", "enc ns/op");
+        for (int players : new int[] {2, 8, 50}) {
+            GameSession session = SampleSessions.midGame(players);
+            RoomUpdate frame = RoomUpdate.snapshot(session.getVersion(), json.valueToTree(RoomView.of(session)));
+            report(players, "session", "json", json, session);
+            report(players, "session", "cbor", cbor, session);
+            report(players, "snapshot", "json", json, frame);
+            report(players, "snapshot", "cbor", cbor, frame);
+        }
+    }
+
+    private void report(int players, String payload, String codec, ObjectMapper mapper, Object value) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+        long encodeNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        System.out.printf("%-8d %-9s %-5s %10d %12d%n", players, payload, codec,
+                mapper.writeValueAsBytes(value).length, encodeNanos);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
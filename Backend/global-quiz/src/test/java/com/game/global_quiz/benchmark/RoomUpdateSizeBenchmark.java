@@ -0,0 +1,86 @@
+package com.game.global_quiz.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.global_quiz.broadcast.JsonPatch;
+import com.game.global_quiz.broadcast.RoomUpdate;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+
+/**
+ * Average room frame size over one round of play, sending the full session
+ * every time against sending patches. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class RoomUpdateSizeBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void compareFrameSizes() throws Exception {
+        System.out.printf("%-8s %8s %14s %14s%n", "players", "frames", "snapshot avg", "patch avg");
+        for (int players : new int[] {4, 8}) {
+            GameSession session = SampleSessions.midGame(players);
+            session.setCurrentPhase(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS);
+            session.getPlayers().forEach(Player::resetForNewQuestion);
+
+            long snapshotBytes = 0;
+            long patchBytes = 0;
+            List<Consumer<GameSession>> round = round(session);
+            JsonNode previous = objectMapper.valueToTree(session);
+            for (Consumer<GameSession> action : round) {
+                action.accept(session);
+                session.setVersion(session.getVersion() + 1);
+                JsonNode state = objectMapper.valueToTree(session);
+                snapshotBytes += objectMapper.writeValueAsBytes(
+                        RoomUpdate.snapshot(session.getVersion(), state)).length;
+                patchBytes += objectMapper.writeValueAsBytes(RoomUpdate.patch(session.getVersion() - 1,
+                        session.getVersion(), JsonPatch.diff(previous, state))).length;
+                previous = state;
+            }
+            System.out.printf("%-8d %8d %14d %14d%n", players, round.size(),
+                    snapshotBytes / round.size(), patchBytes / round.size());
+        }
+    }
+
+    // The state changes of a typical round, one broadcast each
+    private static List<Consumer<GameSession>> round(GameSession session) {
+        List<Consumer<GameSession>> actions = new ArrayList<>();
+        for (Player player : session.getPlayers()) {
+            actions.add(s -> {
+                player.setWrongAnswerSubmitted("Wrong answer from " + player.getUsername());
+                player.setHasAnswered(true);
+            });
+        }
+        actions.add(s -> {
+            s.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+            s.getPlayers().forEach(p -> p.setHasAnswered(false));
+        });
+        for (Player player : session.getPlayers()) {
+            actions.add(s -> {
+                player.setCurrentAnswer("Canberra");
+                player.setHasAnswered(true);
+            });
+        }
+        actions.add(s -> {
+            s.getPlayers().forEach(p -> p.addScore(2));
+            s.setCurrentPhase(GameSession.QuestionPhase.ANSWERS_REVEAL);
+        });
+        actions.add(s -> s.setCurrentPhase(GameSession.QuestionPhase.SCORE_DISPLAY));
+        actions.add(s -> {
+            s.setCurrentRound(s.getCurrentRound() + 1);
+            s.setCurrentPhase(GameSession.QuestionPhase.CATEGORY_SELECTION);
+            s.getPlayers().forEach(Player::resetForNewQuestion);
+        });
+        return actions;
+    }
+}
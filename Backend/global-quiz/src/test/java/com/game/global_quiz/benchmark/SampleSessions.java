@@ -0,0 +1,51 @@
+package com.game.global_quiz.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+
+/**
+ * Representative mid-game sessions shared by the benchmarks.
+ */
+public final class SampleSessions {
+
+    private SampleSessions() {
+    }
+
+    public static GameSession midGame(int playerCount) {
+        GameSession session = new GameSession(playerCount, 10, 30, Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L));
+        session.setStatus(GameSession.GameStatus.IN_PROGRESS);
+        session.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        session.setCurrentRound(4);
+        session.setCurrentQuestionId(1042L);
+        session.setSelectedCategory(3L);
+        session.setSelectedDifficulty(2);
+        session.setStartTime(LocalDateTime.now().minusMinutes(6));
+        session.setVersion(37);
+
+        List<String> options = new ArrayList<>(List.of("Canberra", "Sydney", "Melbourne", "Perth"));
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player();
+            player.setId(UUID.randomUUID().toString());
+            player.setUsername("Player " + (i + 1));
+            player.setAvatarUrl("/assets/avatar" + (i % 6 + 1) + ".png");
+            player.setHost(i == 0);
+            player.setReady(true);
+            player.setScore(i * 3 % 11);
+            player.setHasAnswered(i % 2 == 0);
+            player.setWrongAnswerSubmitted("Wrong answer " + i);
+            player.setCurrentAnswer(i % 2 == 0 ? options.get(i % options.size()) : null);
+            players.add(player);
+            options.add("Wrong answer " + i);
+        }
+        session.setPlayers(players);
+        session.setFinalOptions(options);
+        return session;
+    }
+}
@@ -0,0 +1,61 @@
+package com.game.global_quiz.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.game.global_quiz.config.RedisConfig;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.session.GameSessionRedisSerializer;
+
+/**
+ * Bytes per session and ser/deser time of the binary codec against the JSON
+ * serializer currently used for Redis. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class SessionCodecBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compareCodecs() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(new RedisConfig().createRedisObjectMapper());
+        RedisSerializer<GameSession> jsonSession = (RedisSerializer<GameSession>) (RedisSerializer<?>) json;
+        RedisSerializer<GameSession> binary = new GameSessionRedisSerializer(json);
+
+        System.out.printf("%-8s %-7s %10s %12s %12s%n", "players", "codec", "bytes", "ser ns/op", "deser ns/op");
+        for (int players : new int[] {2, 8, 50}) {
+            GameSession session = SampleSessions.midGame(players);
+            report(players, "json", jsonSession, session);
+            report(players, "binary", binary, session);
+        }
+    }
+
+    private void report(int players, String name, RedisSerializer<GameSession> serializer, GameSession session) {
+        byte[] bytes = serializer.serialize(session);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += serializer.serialize(session).length;
+            sink += serializer.deserialize(bytes).getPlayers().size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.serialize(session).length;
+        }
+        long serNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += serializer.deserialize(bytes).getPlayers().size();
+        }
+        long deserNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        System.out.printf("%-8d %-7s %10d %12d %12d%n", players, name, bytes.length, serNanos, deserNanos);
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
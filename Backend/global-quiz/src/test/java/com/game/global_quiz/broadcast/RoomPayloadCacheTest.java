@@ -0,0 +1,87 @@
+package com.game.global_quiz.broadcast;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RoomPayloadCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final RoomPayloadCache cache = new RoomPayloadCache(objectMapper, new SimpleMeterRegistry());
+
+    @Test
+    void get_SameVersion_ReusesEncodedBytes() throws Exception {
+        GameSession session = SampleSessions.midGame(4);
+
+        byte[] first = cache.get(session).json();
+        byte[] second = cache.get(objectMapper.convertValue(session, GameSession.class)).json();
+
+        assertSame(first, second);
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(RoomView.of(session))), objectMapper.readTree(first));
+    }
+
+    @Test
+    void get_NewerVersion_ReplacesPayload() {
+        GameSession session = SampleSessions.midGame(4);
+        RoomPayloadCache.RoomPayload before = cache.get(session);
+        session.setCurrentRound(session.getCurrentRound() + 1);
+        session.setVersion(session.getVersion() + 1);
+
+        RoomPayloadCache.RoomPayload after = cache.get(session);
+
+        assertNotSame(before, after);
+        assertSame(after, cache.get(session));
+        assertEquals(session.getCurrentRound(), after.publicTree().get("currentRound").asInt());
+    }
+
+    @Test
+    void json_HidesAnswersBeforeReveal_AndServerOnlyState() throws Exception {
+        GameSession session = SampleSessions.midGame(4);
+        session.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        session.getPlayers().get(0).setCurrentAnswer("Paris");
+        session.getPlayers().get(0).setWrongAnswerSubmitted("Lyon");
+        session.getPlayedQuestions().add(12);
+
+        JsonNode body = objectMapper.readTree(cache.get(session).json());
+
+        assertFalse(body.get("players").get(0).has("currentAnswer"));
+        assertFalse(body.get("players").get(0).has("wrongAnswerSubmitted"));
+        assertFalse(body.has("playedQuestions"));
+    }
+
+    @Test
+    void snapshotFrame_Cbor_DecodesToSameUpdateAsJson() throws Exception {
+        GameSession session = SampleSessions.midGame(4);
+        RoomPayloadCache.RoomPayload payload = cache.get(session);
+
+        byte[] cbor = payload.snapshotFrame(RoomEncoding.CBOR);
+
+        assertSame(cbor, payload.snapshotFrame(RoomEncoding.CBOR));
+        assertEquals(objectMapper.readTree(payload.snapshotFrame()),
+                objectMapper.copyWith(new CBORFactory()).readTree(cbor));
+    }
+
+    @Test
+    void transcode_JsonFrameToCbor_KeepsContent() throws Exception {
+        byte[] json = cache.get(SampleSessions.midGame(2)).snapshotFrame();
+
+        byte[] cbor = cache.transcode(json, RoomEncoding.CBOR);
+
+        assertEquals(objectMapper.readTree(json), objectMapper.copyWith(new CBORFactory()).readTree(cbor));
+        assertSame(json, cache.transcode(json, RoomEncoding.JSON));
+    }
+}
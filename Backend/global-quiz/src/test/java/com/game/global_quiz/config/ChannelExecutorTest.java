@@ -0,0 +1,76 @@
+package com.game.global_quiz.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChannelExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChannelExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void threadPool_QueueFull_RunsOnCallingThread() {
+        executor = ChannelExecutor.threadPool("outbound", "test", 1, 1, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        executor.execute(() -> { });
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertEquals(Thread.currentThread(), ranOn.get());
+        assertEquals(1.0, meterRegistry.get("game.websocket.channel.overflow").tag("channel", "outbound").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void virtualThreads_RecordQueueWaitAndTaskTime() throws Exception {
+        executor = ChannelExecutor.virtualThreads("inbound", "test", 100, meterRegistry);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> {
+            ranOn.set(Thread.currentThread());
+            done.countDown();
+        });
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertTrue(ranOn.get().isVirtual());
+        assertEquals(1, meterRegistry.get("game.websocket.channel.wait").tag("channel", "inbound").timer().count());
+    }
+
+    @Test
+    void virtualThreads_InFlightLimitReached_RunsOnCallingThread() {
+        executor = ChannelExecutor.virtualThreads("inbound", "test", 1, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertEquals(Thread.currentThread(), ranOn.get());
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.game.global_quiz.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LatestStateSessionDecoratorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> drains = new ArrayList<>();
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+
+    @Test
+    void sendMessage_RoomFrameStillQueued_IsReplacedByNewer() throws Exception {
+        WebSocketSession session = session(60_000);
+        TextMessage first = frame("/topic/room/ABC", "{\"version\":1}");
+        TextMessage ack = frame("/user/queue/acks", "{}");
+        TextMessage second = frame("/topic/room/ABC", "{\"version\":2}");
+
+        session.sendMessage(first);
+        session.sendMessage(ack);
+        session.sendMessage(second);
+        drains.forEach(Runnable::run);
+
+        InOrder order = inOrder(delegate);
+        order.verify(delegate).sendMessage(second);
+        order.verify(delegate).sendMessage(ack);
+        verify(delegate, never()).sendMessage(first);
+        assertEquals(1.0, meterRegistry.get("game.websocket.frames.collapsed").counter().count());
+    }
+
+    @Test
+    void sendMessage_OldestFrameBeyondLag_ClosesSession() throws Exception {
+        WebSocketSession session = session(10);
+        session.sendMessage(frame("/topic/room/ABC", "{}"));
+        Thread.sleep(30);
+
+        assertThrows(SessionLimitExceededException.class, () -> session.sendMessage(frame("/topic/room/XYZ", "{}")));
+        assertEquals(1.0, meterRegistry.get("game.websocket.sessions.lagging").counter().count());
+    }
+
+    @Test
+    void roomDestination_OnlyForRoomTopicMessages() {
+        assertEquals("/topic/room/ABC/cbor", LatestStateSessionDecorator.roomDestination(frame("/topic/room/ABC/cbor", "{}")));
+        assertNull(LatestStateSessionDecorator.roomDestination(frame("/user/queue/room", "{}")));
+        assertNull(LatestStateSessionDecorator.roomDestination(new TextMessage("\n")));
+    }
+
+    private WebSocketSession session(long maxLagMillis) {
+        return new LatestStateSessionDecorator.Policy(maxLagMillis, 512 * 1024, drains::add, meterRegistry)
+                .decorate(delegate);
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n"
+                + "subscription:sub-0\nmessage-id:1\ncontent-length:" + body.length() + "\n\n" + body + "\0");
+    }
+}
@@ -0,0 +1,86 @@
+package com.game.global_quiz.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.game.global_quiz.service.PlayerTokenService;
+
+class StompClientInterceptorTest {
+
+    private final PlayerTokenService playerTokens = new PlayerTokenService("test-secret");
+    private final StompClientInterceptor interceptor = new StompClientInterceptor(playerTokens);
+
+    @Test
+    void connect_PlayerIdWithIssuedToken_NamesTheUser() {
+        Message<?> sent = interceptor.preSend(message(connectAs("player-1", playerTokens.issue("player-1"))), null);
+
+        assertEquals("player-1", StompHeaderAccessor.wrap(sent).getUser().getName());
+    }
+
+    @Test
+    void connect_MissingOrForgedToken_StaysAnonymous() {
+        Message<?> missing = interceptor.preSend(message(connectAs("player-1", null)), null);
+        Message<?> forged = interceptor.preSend(message(connectAs("player-1", playerTokens.issue("player-2"))), null);
+        Message<?> garbage = interceptor.preSend(message(connectAs("player-1", "not base64!")), null);
+
+        assertNull(StompHeaderAccessor.wrap(missing).getUser());
+        assertNull(StompHeaderAccessor.wrap(forged).getUser());
+        assertNull(StompHeaderAccessor.wrap(garbage).getUser());
+    }
+
+    @Test
+    void subscribe_CborOnNativeWebSocket_MovesRoomDestinations() {
+        Map<String, Object> attributes = new HashMap<>(Map.of(StompClientInterceptor.NATIVE_WEBSOCKET, true));
+        connect(attributes, "cbor");
+
+        assertEquals("/topic/room/ABC/cbor", subscribe(attributes, "/topic/room/ABC"));
+        assertEquals("/app/room/ABC/cbor", subscribe(attributes, "/app/room/ABC"));
+        assertEquals("/app/room/ABC/me", subscribe(attributes, "/app/room/ABC/me"));
+        assertEquals("/user/queue/room", subscribe(attributes, "/user/queue/room"));
+    }
+
+    @Test
+    void subscribe_CborOverSockJs_StaysJson() {
+        Map<String, Object> attributes = new HashMap<>();
+        connect(attributes, "cbor");
+
+        assertEquals("/topic/room/ABC", subscribe(attributes, "/topic/room/ABC"));
+    }
+
+    private static StompHeaderAccessor connectAs(String playerId, String playerToken) {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setNativeHeader("playerId", playerId);
+        if (playerToken != null) {
+            connect.setNativeHeader("playerToken", playerToken);
+        }
+        return connect;
+    }
+
+    private void connect(Map<String, Object> attributes, String encoding) {
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setNativeHeader("room-encoding", encoding);
+        connect.setSessionAttributes(attributes);
+        interceptor.preSend(message(connect), null);
+    }
+
+    private String subscribe(Map<String, Object> attributes, String destination) {
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination(destination);
+        subscribe.setSessionAttributes(attributes);
+        return StompHeaderAccessor.wrap(interceptor.preSend(message(subscribe), null)).getDestination();
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
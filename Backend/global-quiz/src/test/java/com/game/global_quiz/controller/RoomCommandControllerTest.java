@@ -0,0 +1,68 @@
+package com.game.global_quiz.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.game.global_quiz.dto.CommandAckDTO;
+import com.game.global_quiz.dto.RoomCommandDTO;
+import com.game.global_quiz.service.GameService;
+
+@ExtendWith(MockitoExtension.class)
+class RoomCommandControllerTest {
+
+    @Mock
+    private GameService gameService;
+
+    @InjectMocks
+    private RoomCommandController controller;
+
+    @Test
+    void submitMCQAnswer_AcksWithRequestId() {
+        RoomCommandDTO command = command("req-1", "player-1");
+        command.setAnswer("Paris");
+
+        CommandAckDTO ack = controller.submitMCQAnswer("room-1", command);
+
+        verify(gameService).submitMCQAnswer("room-1", "player-1", "Paris");
+        assertTrue(ack.isOk());
+        assertEquals("req-1", ack.getRequestId());
+        assertEquals("answer/mcq", ack.getCommand());
+    }
+
+    @Test
+    void selectCategory_MissingCategory_RepliesWithError() {
+        CommandAckDTO ack = controller.selectCategory("room-1", command("req-2", "player-1"));
+
+        verifyNoInteractions(gameService);
+        assertFalse(ack.isOk());
+        assertEquals("category is required", ack.getError());
+    }
+
+    @Test
+    void toggleReady_ServiceRejects_RepliesWithError() {
+        when(gameService.togglePlayerReadyState("room-1", "player-1"))
+                .thenThrow(new IllegalArgumentException("Session not found: room-1"));
+
+        CommandAckDTO ack = controller.toggleReady("room-1", command("req-3", "player-1"));
+
+        assertFalse(ack.isOk());
+        assertEquals("Session not found: room-1", ack.getError());
+    }
+
+    private static RoomCommandDTO command(String requestId, String playerId) {
+        RoomCommandDTO command = new RoomCommandDTO();
+        command.setRequestId(requestId);
+        command.setPlayerId(playerId);
+        return command;
+    }
+}
@@ -0,0 +1,184 @@
+package com.game.global_quiz.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.broadcast.PlayerUpdate;
+import com.game.global_quiz.broadcast.RoomPayloadCache;
+import com.game.global_quiz.broadcast.RoomUpdate;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+import com.game.global_quiz.session.SessionStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RoomWebSocketControllerTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SessionStore sessionStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RoomWebSocketController controller;
+
+    @AfterEach
+    void tearDown() {
+        controller.destroy();
+    }
+
+    @Test
+    void broadcasts_WithinWindow_SendOnlyLatestState() throws Exception {
+        controller = controller(50);
+        GameSession first = SampleSessions.midGame(4);
+        GameSession second = objectMapper.convertValue(first, GameSession.class);
+        second.setVersion(first.getVersion() + 1);
+
+        controller.broadcastRoomUpdate("room-1", first);
+        controller.broadcastRoomUpdate("room-1", second);
+
+        verify(messagingTemplate, timeout(1000)).send(eq("/topic/room/room-1"), any(Message.class));
+        assertEquals(second.getVersion(), frames().get(0).version());
+        assertEquals(1.0, count("suppressed"));
+    }
+
+    @Test
+    void broadcast_VersionAlreadySent_IsSuppressed() {
+        controller = controller(0);
+        GameSession session = SampleSessions.midGame(2);
+
+        controller.broadcastRoomUpdate("room-1", session);
+        controller.broadcastRoomUpdate("room-1", session);
+
+        verify(messagingTemplate).send(anyString(), any(Message.class));
+        assertEquals(1.0, count("sent"));
+        assertEquals(1.0, count("suppressed"));
+    }
+
+    @Test
+    void broadcasts_AfterFirst_SendPatchAgainstPreviousVersion() throws Exception {
+        controller = controller(0);
+        GameSession session = SampleSessions.midGame(4);
+        GameSession next = objectMapper.convertValue(session, GameSession.class);
+        next.setVersion(session.getVersion() + 1);
+        next.getPlayers().get(1).setHasAnswered(true);
+
+        controller.broadcastRoomUpdate("room-1", session);
+        controller.broadcastRoomUpdate("room-1", next);
+
+        List<RoomUpdate> sent = frames();
+        assertEquals(2, sent.size());
+        assertEquals(RoomUpdate.Type.SNAPSHOT, sent.get(0).type());
+        RoomUpdate patch = sent.get(1);
+        assertEquals(RoomUpdate.Type.PATCH, patch.type());
+        assertEquals(session.getVersion(), patch.baseVersion());
+        assertEquals(objectMapper.readTree("""
+                [{"op":"replace","path":"/version","value":38},
+                 {"op":"replace","path":"/players/1/hasAnswered","value":true}]
+                """), patch.ops());
+    }
+
+    @Test
+    void broadcast_BeforeReveal_SendsAnswersOnlyToTheirPlayer() throws Exception {
+        controller = controller(0);
+        GameSession session = SampleSessions.midGame(2);
+        Player answered = session.getPlayers().get(0);
+
+        controller.broadcastRoomUpdate("room-1", session);
+
+        RoomUpdate snapshot = frames().get(0);
+        assertFalse(snapshot.state().get("players").get(0).has("currentAnswer"));
+        assertFalse(snapshot.state().get("players").get(0).has("wrongAnswerSubmitted"));
+        ArgumentCaptor<PlayerUpdate> update = ArgumentCaptor.forClass(PlayerUpdate.class);
+        verify(messagingTemplate).convertAndSendToUser(eq(answered.getId()), eq("/queue/room"), update.capture());
+        assertEquals(answered.getCurrentAnswer(), update.getValue().currentAnswer());
+    }
+
+    @Test
+    void broadcast_PlayerViewUnchanged_SendsNoPrivateFrame() {
+        controller = controller(0);
+        GameSession session = SampleSessions.midGame(2);
+        GameSession next = objectMapper.convertValue(session, GameSession.class);
+        next.setVersion(session.getVersion() + 1);
+        next.getPlayers().get(1).setReady(false);
+
+        controller.broadcastRoomUpdate("room-1", session);
+        controller.broadcastRoomUpdate("room-1", next);
+
+        verify(messagingTemplate, times(2)).convertAndSendToUser(anyString(), eq("/queue/room"), any(PlayerUpdate.class));
+    }
+
+    @Test
+    void broadcast_AfterCborSubscription_AlsoSendsCborFrame() throws Exception {
+        controller = controller(0);
+        GameSession session = SampleSessions.midGame(2);
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination("/topic/room/room-1/cbor");
+
+        controller.broadcastRoomUpdate("room-1", session);
+        controller.onSubscribe(new SessionSubscribeEvent(this,
+                MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders())));
+        GameSession next = objectMapper.convertValue(session, GameSession.class);
+        next.setVersion(session.getVersion() + 1);
+        controller.broadcastRoomUpdate("room-1", next);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArgumentCaptor<Message<byte[]>> cbor = ArgumentCaptor.forClass((Class) Message.class);
+        verify(messagingTemplate).send(eq("/topic/room/room-1/cbor"), cbor.capture());
+        RoomUpdate patch = objectMapper.copyWith(new CBORFactory()).readValue(cbor.getValue().getPayload(), RoomUpdate.class);
+        assertEquals(frames().get(1), patch);
+    }
+
+    private RoomWebSocketController controller(long windowMillis) {
+        return new RoomWebSocketController(messagingTemplate, new RoomPayloadCache(objectMapper, meterRegistry),
+                Optional.empty(), sessionStore, true, windowMillis, 600_000, meterRegistry);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<RoomUpdate> frames() throws Exception {
+        ArgumentCaptor<Message<byte[]>> messages = ArgumentCaptor.forClass((Class) Message.class);
+        verify(messagingTemplate, atLeastOnce()).send(eq("/topic/room/room-1"), messages.capture());
+        List<RoomUpdate> frames = new ArrayList<>();
+        for (Message<byte[]> message : messages.getAllValues()) {
+            frames.add(objectMapper.readValue(message.getPayload(), RoomUpdate.class));
+        }
+        return frames;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("game.rooms.broadcasts").tag("result", result).counter().count();
+    }
+}
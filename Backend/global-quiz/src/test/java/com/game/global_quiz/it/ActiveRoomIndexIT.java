@@ -0,0 +1,105 @@
+package com.game.global_quiz.it;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.game.global_quiz.session.ActiveRoomIndex;
+
+/**
+ * The rooms:active index against a local Redis on localhost:6379.
+ * Run with: mvn test -Predis
+ */
+@Tag("redis")
+class ActiveRoomIndexIT {
+
+    private static final String INDEX_KEY = "rooms:active";
+    private static final long THREE_HOURS_MILLIS = 3 * 60 * 60 * 1000L;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private ActiveRoomIndex index;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(INDEX_KEY);
+        index = new ActiveRoomIndex(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(INDEX_KEY);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void touch_AddsRoom_AndRemoveDropsIt() {
+        index.touch("room-a");
+        index.touch("room-b");
+        index.touch("room-a");
+
+        assertEquals(2, index.count());
+
+        index.remove("room-a");
+
+        assertEquals(1, index.count());
+        assertEquals(List.of("room-b"), List.copyOf(index.listActive(10).keySet()));
+    }
+
+    @Test
+    void listActive_NewestFirst_LimitedAndSkipsExpired() {
+        long now = System.currentTimeMillis();
+        activeAt("room-expired", now - THREE_HOURS_MILLIS);
+        activeAt("room-1", now - 3_000);
+        activeAt("room-2", now - 2_000);
+        activeAt("room-3", now - 1_000);
+
+        Map<String, Instant> rooms = index.listActive(2);
+
+        assertEquals(List.of("room-3", "room-2"), List.copyOf(rooms.keySet()));
+        assertEquals(Instant.ofEpochMilli(now - 1_000), rooms.get("room-3"));
+        assertEquals(3, index.count());
+    }
+
+    @Test
+    void touch_MovesRoomToFront() {
+        long now = System.currentTimeMillis();
+        activeAt("room-1", now - 10_000);
+        activeAt("room-2", now - 5_000);
+
+        index.touch("room-1");
+
+        assertEquals(List.of("room-1", "room-2"), List.copyOf(index.listActive(10).keySet()));
+    }
+
+    @Test
+    void pruneExpired_RemovesOnlyExpiredRooms() {
+        long now = System.currentTimeMillis();
+        activeAt("room-expired", now - THREE_HOURS_MILLIS);
+        activeAt("room-1", now - 1_000);
+
+        index.pruneExpired();
+
+        assertNull(redisTemplate.opsForZSet().score(INDEX_KEY, "room-expired"));
+        assertNotNull(redisTemplate.opsForZSet().score(INDEX_KEY, "room-1"));
+    }
+
+    private void activeAt(String sessionId, long epochMillis) {
+        redisTemplate.opsForZSet().add(INDEX_KEY, sessionId, epochMillis);
+    }
+}
@@ -5,12 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +24,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import com.game.global_quiz.controller.RoomWebSocketController;
 import com.game.global_quiz.model.Category;
@@ -32,6 +36,7 @@ import com.game.global_quiz.model.Question;
 import com.game.global_quiz.service.GameService;
 import com.game.global_quiz.service.PlayerService;
 import com.game.global_quiz.service.QuestionService;
+import com.game.global_quiz.session.ActiveRoomIndex;
 
 @SpringBootTest
 class GameServiceIT {
@@ -54,6 +59,12 @@ class GameServiceIT {
     @MockBean
     private RoomWebSocketController roomWebSocketController;
 
+    @MockBean
+    private ActiveRoomIndex activeRoomIndex;
+
+    @SuppressWarnings("unchecked")
+    private final RedisSerializer<GameSession> valueSerializer = mock(RedisSerializer.class);
+
     private GameSession testSession;
     private Question mockQuestion;
     private static final String TEST_SESSION_ID = "test-session-123";
@@ -100,9 +111,13 @@ class GameServiceIT {
     }
 
     @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
     void startGame_StartsWithoutFetchingQuestion_AndInitializesRoundAndPhase() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.get(REDIS_KEY)).thenReturn(testSession);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) valueSerializer);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenAnswer(invocation -> testSession.getVersion());
 
         gameService.startGame(TEST_SESSION_ID);
 
@@ -112,8 +127,10 @@ class GameServiceIT {
         assertNull(testSession.getCurrentQuestionId());
         assertEquals(GameSession.QuestionPhase.CATEGORY_SELECTION, testSession.getCurrentPhase());
 
-        verify(questionService, times(0)).getRandomQuestion(anyLong(), anyInt(), any(String.class));
-        verify(valueOperations, times(1)).set(REDIS_KEY, testSession, Duration.ofHours(2));
+        verify(questionService, times(0)).getRandomQuestion(anyLong(), anyInt(), any(String.class), any());
+        verify(valueSerializer, times(1)).serialize(testSession);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of(REDIS_KEY, REDIS_KEY + ":version")), any(Object[].class));
     }
 }
 
@@ -0,0 +1,94 @@
+package com.game.global_quiz.it;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.config.RedisConfig;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.session.ActiveRoomIndex;
+import com.game.global_quiz.session.RedisBlobSessionStore;
+import com.game.global_quiz.session.SessionConflictException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The game:{sessionId} blob layout and its compare-and-set script against a local Redis on localhost:6379.
+ * Run with: mvn test -Predis
+ */
+@Tag("redis")
+class RedisBlobSessionStoreIT {
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisBlobSessionStore store;
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisTemplate<String, GameSession> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer(new RedisConfig().createRedisObjectMapper()));
+        redisTemplate.afterPropertiesSet();
+        store = new RedisBlobSessionStore(redisTemplate, new ActiveRoomIndex(new StringRedisTemplate(connectionFactory)),
+                new SimpleMeterRegistry());
+
+        session = SampleSessions.midGame(4);
+        session.setVersion(0);
+        store.save(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.remove(session.getSessionId());
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void save_BumpsVersion_AndStoresIt() {
+        session.getPlayedQuestions().add(1042);
+        store.save(session);
+
+        GameSession stored = store.load(session.getSessionId());
+
+        assertEquals(2, session.getVersion());
+        assertEquals(session, stored);
+    }
+
+    @Test
+    void save_StaleVersion_Conflicts_AndKeepsTheFirstWrite() {
+        GameSession first = store.load(session.getSessionId());
+        GameSession second = store.load(session.getSessionId());
+
+        first.getPlayers().get(0).setScore(first.getPlayers().get(0).getScore() + 3);
+        store.save(first);
+        second.setCurrentRound(second.getCurrentRound() + 1);
+
+        assertThrows(SessionConflictException.class, () -> store.save(second));
+        // The loser keeps the version it was loaded at, so a retry reloads rather than trusting it
+        assertEquals(1, second.getVersion());
+        GameSession stored = store.load(session.getSessionId());
+        assertEquals(2, stored.getVersion());
+        assertEquals(first, stored);
+    }
+
+    @Test
+    void save_AfterRemove_WithOldVersion_Conflicts() {
+        store.remove(session.getSessionId());
+
+        assertThrows(SessionConflictException.class, () -> store.save(session));
+    }
+}
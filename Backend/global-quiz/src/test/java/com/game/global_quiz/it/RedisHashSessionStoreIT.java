@@ -0,0 +1,153 @@
+package com.game.global_quiz.it;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+import com.game.global_quiz.session.ActiveRoomIndex;
+import com.game.global_quiz.session.AnswerResult;
+import com.game.global_quiz.session.RedisHashSessionStore;
+import com.game.global_quiz.session.SessionConflictException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The room:{sessionId} hash layout and its Lua scripts against a local Redis on localhost:6379.
+ * Run with: mvn test -Predis
+ */
+@Tag("redis")
+class RedisHashSessionStoreIT {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisHashSessionStore store;
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        store = new RedisHashSessionStore(redisTemplate, new ActiveRoomIndex(redisTemplate), new SimpleMeterRegistry());
+
+        session = SampleSessions.midGame(2);
+        session.setVersion(0);
+        for (Player player : session.getPlayers()) {
+            player.setHasAnswered(false);
+            player.setCurrentAnswer(null);
+        }
+        store.save(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.remove(session.getSessionId());
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void recordAnswer_StoresAnswer_BumpsVersion_AndReportsTheLastOne() {
+        String first = session.getPlayers().get(0).getId();
+        String second = session.getPlayers().get(1).getId();
+
+        AnswerResult recorded = store.recordAnswer(session.getSessionId(), first,
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Canberra");
+
+        assertEquals(AnswerResult.Outcome.RECORDED, recorded.outcome());
+        assertEquals(2, recorded.session().getVersion());
+        Player stored = store.load(session.getSessionId()).getPlayers().get(0);
+        assertEquals("Canberra", stored.getCurrentAnswer());
+        assertTrue(stored.isHasAnswered());
+
+        AnswerResult completed = store.recordAnswer(session.getSessionId(), second,
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Sydney");
+
+        assertEquals(AnswerResult.Outcome.ALL_ANSWERED, completed.outcome());
+        assertEquals(3, completed.session().getVersion());
+        assertEquals("Sydney", completed.session().getPlayers().get(1).getCurrentAnswer());
+
+        // Changing an answer afterwards must not report the set as complete a second time
+        AnswerResult changed = store.recordAnswer(session.getSessionId(), first,
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Perth");
+
+        assertEquals(AnswerResult.Outcome.RECORDED, changed.outcome());
+        assertEquals("Perth", changed.session().getPlayers().get(0).getCurrentAnswer());
+    }
+
+    @Test
+    void recordAnswer_AwayPlayersAreNotWaitedFor() {
+        session.getPlayers().get(1).setAway(true);
+        store.save(session);
+
+        AnswerResult result = store.recordAnswer(session.getSessionId(), session.getPlayers().get(0).getId(),
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Canberra");
+
+        assertEquals(AnswerResult.Outcome.ALL_ANSWERED, result.outcome());
+    }
+
+    @Test
+    void recordAnswer_Rejected_LeavesHashUntouched() {
+        String player = session.getPlayers().get(0).getId();
+
+        assertEquals(AnswerResult.Outcome.WRONG_PHASE, store.recordAnswer(session.getSessionId(), player,
+                GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS, "Lyon").outcome());
+        assertEquals(AnswerResult.Outcome.UNKNOWN_PLAYER, store.recordAnswer(session.getSessionId(), "stranger",
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Canberra").outcome());
+        assertEquals(AnswerResult.Outcome.NO_SESSION, store.recordAnswer("no-such-room", player,
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Canberra").outcome());
+
+        GameSession stored = store.load(session.getSessionId());
+        assertEquals(1, stored.getVersion());
+        assertNull(stored.getPlayers().get(0).getCurrentAnswer());
+    }
+
+    @Test
+    void save_StaleVersion_Conflicts_AndKeepsTheFirstWrite() {
+        GameSession first = store.load(session.getSessionId());
+        GameSession firstSnapshot = store.snapshot(first);
+        GameSession second = store.load(session.getSessionId());
+        GameSession secondSnapshot = store.snapshot(second);
+
+        first.getPlayers().get(0).setScore(first.getPlayers().get(0).getScore() + 3);
+        store.save(first, firstSnapshot);
+        second.setCurrentRound(second.getCurrentRound() + 1);
+
+        assertEquals(2, first.getVersion());
+        assertThrows(SessionConflictException.class, () -> store.save(second, secondSnapshot));
+        GameSession stored = store.load(session.getSessionId());
+        assertEquals(2, stored.getVersion());
+        assertEquals(first.getPlayers().get(0).getScore(), stored.getPlayers().get(0).getScore());
+        assertEquals(session.getCurrentRound(), stored.getCurrentRound());
+    }
+
+    @Test
+    void save_LoadedBeforeAnAnswer_Conflicts() {
+        GameSession loaded = store.load(session.getSessionId());
+        GameSession snapshot = store.snapshot(loaded);
+
+        store.recordAnswer(session.getSessionId(), session.getPlayers().get(0).getId(),
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Canberra");
+        loaded.setCurrentPhase(GameSession.QuestionPhase.ANSWERS_REVEAL);
+
+        assertThrows(SessionConflictException.class, () -> store.save(loaded, snapshot));
+        GameSession stored = store.load(session.getSessionId());
+        assertEquals(GameSession.QuestionPhase.MCQ_ANSWERING, stored.getCurrentPhase());
+        assertEquals(List.of("Canberra"), stored.getPlayers().stream()
+                .map(Player::getCurrentAnswer).filter(Objects::nonNull).toList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.game.global_quiz.it;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.game.global_quiz.session.RedisPhaseDeadlines;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two deadline "nodes" sharing a local Redis on localhost:6379.
+ * Run with: mvn test -Predis
+ */
+@Tag("redis")
+class RedisPhaseDeadlinesIT {
+
+    private static final String ROOM = "4f1c2a7e-0000-4000-8000-000000000001";
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisPhaseDeadlines nodeA;
+    private RedisPhaseDeadlines nodeB;
+    private final Queue<String> expiredOnB = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(List.of("rooms:deadlines", "rooms:deadlines:rooms"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        nodeA = new RedisPhaseDeadlines(redisTemplate, 100, 5000, 2, meterRegistry);
+        nodeB = new RedisPhaseDeadlines(redisTemplate, 100, 5000, 2, meterRegistry);
+        nodeB.setReceiver((roomId, stage, deadlineMillis) -> expiredOnB.add(roomId + "/" + stage));
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(List.of("rooms:deadlines", "rooms:deadlines:rooms"));
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void overdueDeadline_IsRecoveredByAnotherNodeOnce() {
+        nodeA.schedule(ROOM, "MCQ_ANSWERING:1", System.currentTimeMillis() - 500);
+
+        nodeB.pollOverdue();
+        nodeB.pollOverdue();
+
+        assertEquals(List.of(ROOM + "/MCQ_ANSWERING:1"), List.copyOf(expiredOnB));
+        // Node A comes back too late: B holds the lease
+        assertFalse(nodeA.claim(ROOM, "MCQ_ANSWERING:1"));
+    }
+
+    @Test
+    void claimedByOwner_IsNotRecovered() {
+        nodeA.schedule(ROOM, "MCQ_ANSWERING:1", System.currentTimeMillis());
+
+        assertTrue(nodeA.claim(ROOM, "MCQ_ANSWERING:1"));
+        nodeA.complete(ROOM, "MCQ_ANSWERING:1");
+        nodeB.pollOverdue();
+
+        assertTrue(expiredOnB.isEmpty());
+        assertEquals(0, redisTemplate.opsForZSet().size("rooms:deadlines"));
+    }
+
+    @Test
+    void newStage_ReplacesRoomsEarlierDeadline() {
+        long past = System.currentTimeMillis() - 500;
+        nodeA.schedule(ROOM, "COLLECTING_WRONG_ANSWERS:1", past);
+        nodeA.schedule(ROOM, "MCQ_ANSWERING:1", past);
+
+        nodeB.pollOverdue();
+
+        assertEquals(List.of(ROOM + "/MCQ_ANSWERING:1"), List.copyOf(expiredOnB));
+    }
+
+    @Test
+    void cancel_RemovesRoomsDeadline() {
+        nodeA.schedule(ROOM, "MCQ_ANSWERING:1", System.currentTimeMillis() - 500);
+
+        nodeA.cancel(ROOM);
+        nodeB.pollOverdue();
+
+        assertTrue(expiredOnB.isEmpty());
+        assertFalse(redisTemplate.hasKey("rooms:deadlines:rooms"));
+    }
+}
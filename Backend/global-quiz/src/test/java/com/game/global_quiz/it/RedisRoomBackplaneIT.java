@@ -0,0 +1,88 @@
+package com.game.global_quiz.it;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.game.global_quiz.broadcast.RedisRoomBackplane;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two backplane "nodes" sharing a local Redis on localhost:6379.
+ * Run with: mvn test -Predis
+ */
+@Tag("redis")
+class RedisRoomBackplaneIT {
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisRoomBackplane nodeA;
+    private RedisRoomBackplane nodeB;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        nodeA = new RedisRoomBackplane(redisTemplate, meterRegistry);
+        nodeB = new RedisRoomBackplane(redisTemplate, meterRegistry);
+        nodeA.afterPropertiesSet();
+        nodeB.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.destroy();
+        nodeB.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void frame_ReachesOtherNodeWithLocalSubscriber() throws Exception {
+        BlockingQueue<byte[]> deliveredToA = new LinkedBlockingQueue<>();
+        BlockingQueue<byte[]> deliveredToB = new LinkedBlockingQueue<>();
+        nodeA.setReceiver((roomCode, version, frame) -> deliveredToA.add(frame));
+        nodeB.setReceiver((roomCode, version, frame) -> deliveredToB.add(frame));
+        nodeA.onSubscribe(subscribe("session-a", "room-1"));
+        nodeB.onSubscribe(subscribe("session-b", "room-1"));
+        byte[] frame = "{\"type\":\"PATCH\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Channel subscriptions are confirmed asynchronously; publish until the first frame lands
+        byte[] received = null;
+        for (int attempt = 0; attempt < 50 && received == null; attempt++) {
+            nodeA.publish("room-1", 5, frame);
+            received = deliveredToB.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        assertArrayEquals(frame, received);
+        assertTrue(deliveredToA.isEmpty());
+        assertTrue(meterRegistry.get("game.rooms.backplane.latency").timer().count() > 0);
+    }
+
+    private static SessionSubscribeEvent subscribe(String sessionId, String roomCode) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId("sub-0");
+        headers.setDestination("/topic/room/" + roomCode);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+        return new SessionSubscribeEvent(RedisRoomBackplaneIT.class, message);
+    }
+}
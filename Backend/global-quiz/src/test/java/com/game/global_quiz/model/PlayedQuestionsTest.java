@@ -0,0 +1,71 @@
+package com.game.global_quiz.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class PlayedQuestionsTest {
+
+    @Test
+    void add_TracksIdsAcrossContainers() {
+        PlayedQuestions played = new PlayedQuestions();
+
+        assertTrue(played.add(42));
+        assertTrue(played.add(65_536 + 42));
+        assertTrue(played.add(7_000_000_000L));
+        assertFalse(played.add(42));
+
+        assertTrue(played.contains(42));
+        assertTrue(played.contains(65_536 + 42));
+        assertTrue(played.contains(7_000_000_000L));
+        assertFalse(played.contains(43));
+        assertFalse(played.contains(65_536 * 2 + 42));
+        assertEquals(3, played.size());
+    }
+
+    @Test
+    void toBytes_SmallSessionStaysCompact() {
+        PlayedQuestions played = new PlayedQuestions();
+        for (long id = 1_000; id < 1_030; id++) {
+            played.add(id);
+        }
+
+        byte[] bytes = played.toBytes();
+
+        assertTrue(bytes.length < 40, "encoded size " + bytes.length);
+        assertEquals(played, PlayedQuestions.fromBytes(bytes));
+    }
+
+    @Test
+    void roundTrip_DenseContainerSwitchesToBitmap() {
+        PlayedQuestions played = new PlayedQuestions();
+        for (long id = 0; id < 10_000; id += 2) {
+            played.add(id);
+        }
+        played.add(123_456_789L);
+
+        PlayedQuestions decoded = PlayedQuestions.fromBytes(played.toBytes());
+
+        assertEquals(5_001, decoded.size());
+        assertTrue(decoded.contains(9_998));
+        assertFalse(decoded.contains(9_999));
+        assertTrue(decoded.contains(123_456_789L));
+        assertTrue(decoded.add(9_999));
+        assertEquals(5_002, decoded.size());
+    }
+
+    @Test
+    void fromBytes_Truncated_Throws() {
+        PlayedQuestions played = new PlayedQuestions();
+        played.add(300);
+        byte[] bytes = played.toBytes();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PlayedQuestions.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+}
@@ -1,29 +1,36 @@
 package com.game.global_quiz.service;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import com.game.global_quiz.controller.RoomWebSocketController;
 import com.game.global_quiz.model.Category;
@@ -31,6 +38,16 @@ import com.game.global_quiz.model.FallbackOption;
 import com.game.global_quiz.model.GameSession;
 import com.game.global_quiz.model.Player;
 import com.game.global_quiz.model.Question;
+import com.game.global_quiz.session.ActiveRoomIndex;
+import com.game.global_quiz.session.AnswerResult;
+import com.game.global_quiz.session.PhaseTimer;
+import com.game.global_quiz.session.RedisBlobSessionStore;
+import com.game.global_quiz.session.RoomCommandExecutor;
+import com.game.global_quiz.session.SessionConflictException;
+import com.game.global_quiz.session.SessionStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
@@ -50,8 +67,15 @@ class GameServiceTest {
     @Mock
     private RoomWebSocketController roomWebSocketController;
 
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ActiveRoomIndex activeRoomIndex;
+
+    @Mock
+    private RedisSerializer<GameSession> valueSerializer;
 
-    @InjectMocks
     private GameService gameService;
 
     private GameSession testSession;
@@ -61,6 +85,11 @@ class GameServiceTest {
 
     @BeforeEach
     void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        gameService = new GameService(new RedisBlobSessionStore(redisTemplate, activeRoomIndex, meterRegistry),
+                questionService, playerService, roomWebSocketController, categoryService,
+                RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+
         // Setup mock question
         mockQuestion = new Question();
         mockQuestion.setId(1L);
@@ -107,6 +136,7 @@ class GameServiceTest {
         // Arrange
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.get(REDIS_KEY)).thenReturn(testSession);
+        stubSessionWrites();
         // No player state reset or question fetch is expected at start
 
         // Act
@@ -118,8 +148,8 @@ class GameServiceTest {
         assertEquals(1, testSession.getCurrentRound());
         assertEquals(GameSession.QuestionPhase.CATEGORY_SELECTION, testSession.getCurrentPhase());
         assertNull(testSession.getCurrentQuestionId());
-        verify(questionService, times(0)).getRandomQuestion(anyLong(), anyInt(), any(String.class));
-        verify(valueOperations).set(eq(REDIS_KEY), eq(testSession), eq(Duration.ofHours(2)));
+        verify(questionService, times(0)).getRandomQuestion(anyLong(), anyInt(), any(String.class), any());
+        verifySessionWrites(1);
     }
 
     @Test
@@ -195,13 +225,320 @@ class GameServiceTest {
         // Arrange
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.get(REDIS_KEY)).thenReturn(testSession);
+        stubSessionWrites();
         // No stubbing for playerService or questionService needed; startGame should not fetch a question
 
         // Act
         gameService.startGame(TEST_SESSION_ID);
 
         // Assert
-        verify(questionService, times(0)).getRandomQuestion(anyLong(), anyInt(), any(String.class));
+        verify(questionService, times(0)).getRandomQuestion(anyLong(), anyInt(), any(String.class), any());
         assertNull(testSession.getCurrentQuestionId());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void startGame_WithHostNotReady_ShouldWriteAndBroadcastOnce() {
+        // Arrange
+        Player host = testSession.getPlayers().get(0);
+        host.setHost(true);
+        host.setReady(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(testSession);
+        stubSessionWrites();
+
+        // Act
+        gameService.startGame(TEST_SESSION_ID);
+
+        // Assert - the host auto-ready save and the start save are coalesced
+        verifySessionWrites(1);
+        verify(roomWebSocketController, times(1)).broadcastRoomUpdate(TEST_SESSION_ID, testSession);
+    }
+
+    @Test
+    void submitMCQAnswer_WhenStoreReportsAllAnswered_ShouldMoveToRevealOnce() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        testSession.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        testSession.getPlayers().forEach(p -> p.setHasAnswered(true));
+        when(sessionStore.recordAnswer(TEST_SESSION_ID, "player2", GameSession.QuestionPhase.MCQ_ANSWERING, "Paris"))
+                .thenReturn(new AnswerResult(AnswerResult.Outcome.ALL_ANSWERED, testSession));
+
+        // Act
+        atomicGameService.submitMCQAnswer(TEST_SESSION_ID, "player2", "Paris");
+
+        // Assert
+        assertEquals(GameSession.QuestionPhase.ANSWERS_REVEAL, testSession.getCurrentPhase());
+        verify(sessionStore, never()).load(any());
+        verify(sessionStore, times(1)).save(testSession, null);
+    }
+
+    @Test
+    void submitWrongAnswer_WhenStoreRecordsAnswer_ShouldOnlyBroadcast() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        when(sessionStore.recordAnswer(TEST_SESSION_ID, "player1", GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS, "Lyon"))
+                .thenReturn(new AnswerResult(AnswerResult.Outcome.RECORDED, testSession));
+
+        // Act
+        atomicGameService.submitWrongAnswer(TEST_SESSION_ID, "player1", "Lyon");
+
+        // Assert
+        verify(sessionStore, never()).save(any(), any());
+        verify(roomWebSocketController, times(1)).broadcastRoomUpdate(TEST_SESSION_ID, testSession);
+    }
+
+    @Test
+    void togglePlayerReadyState_OnVersionConflict_ShouldRetryWithFreshSession() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        GameSession stale = sessionWithVersion(4);
+        GameSession fresh = sessionWithVersion(5);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(stale, fresh);
+        doThrow(new SessionConflictException(TEST_SESSION_ID, 4)).when(sessionStore).save(stale, null);
+        doNothing().when(sessionStore).save(fresh, null);
+
+        // Act
+        GameSession result = atomicGameService.togglePlayerReadyState(TEST_SESSION_ID, "player1");
+
+        // Assert
+        assertEquals(fresh, result);
+        verify(roomWebSocketController, times(1)).broadcastRoomUpdate(TEST_SESSION_ID, fresh);
+        assertEquals(1.0, meterRegistry.counter("game.session.conflicts").count());
+        assertEquals(1.0, meterRegistry.counter("game.session.retries").count());
+    }
+
+    @Test
+    void togglePlayerReadyState_WhenConflictsPersist_ShouldGiveUp() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        when(sessionStore.load(TEST_SESSION_ID)).thenAnswer(invocation -> sessionWithVersion(4));
+        doThrow(new SessionConflictException(TEST_SESSION_ID, 4)).when(sessionStore).save(any(), any());
+
+        // Act & Assert
+        assertThrows(SessionConflictException.class,
+                () -> atomicGameService.togglePlayerReadyState(TEST_SESSION_ID, "player1"));
+        verify(sessionStore, times(3)).load(TEST_SESSION_ID);
+        verify(roomWebSocketController, never()).broadcastRoomUpdate(any(), any());
+    }
+
+    @Test
+    void updateSettings_OnVersionConflict_ShouldRetryWithFreshSession() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        GameSession stale = sessionWithVersion(4);
+        GameSession fresh = sessionWithVersion(5);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(stale, fresh);
+        doThrow(new SessionConflictException(TEST_SESSION_ID, 4)).when(sessionStore).save(stale, null);
+        doNothing().when(sessionStore).save(fresh, null);
+
+        // Act
+        GameSession result = atomicGameService.updateSettings(TEST_SESSION_ID, 6, 5, 20, List.of(2L), "fr");
+
+        // Assert
+        assertEquals(fresh, result);
+        assertEquals(5, fresh.getTotalRounds());
+        assertEquals(List.of(2L), fresh.getChosenCategoryIds());
+        assertEquals("fr", fresh.getLanguage());
+        verify(roomWebSocketController, times(1)).broadcastRoomUpdate(TEST_SESSION_ID, fresh);
+        assertEquals(1.0, meterRegistry.counter("game.session.retries").count());
+    }
+
+    @Test
+    void updateSettings_WithUnknownRoom_ShouldReturnNull() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+
+        // Act & Assert
+        assertNull(atomicGameService.updateSettings(TEST_SESSION_ID, 6, 5, 20, List.of(2L), null));
+        verify(sessionStore, never()).save(any(), any());
+    }
+
+    @Test
+    void setPlayerAway_OnlyAbsentPlayersLeftToAnswer_ShouldMoveToReveal() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        testSession.setStatus(GameSession.GameStatus.IN_PROGRESS);
+        testSession.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        testSession.getPlayers().get(0).setHasAnswered(true);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(testSession);
+
+        // Act
+        atomicGameService.setPlayerAway(TEST_SESSION_ID, "player2", () -> true);
+
+        // Assert
+        assertTrue(testSession.getPlayers().get(1).isAway());
+        assertEquals(GameSession.QuestionPhase.ANSWERS_REVEAL, testSession.getCurrentPhase());
+        verify(sessionStore, times(1)).save(testSession, null);
+    }
+
+    @Test
+    void removeAwayPlayer_WhenPlayerCameBack_ShouldKeepPlayer() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(testSession);
+
+        // Act
+        boolean removed = atomicGameService.removeAwayPlayer(TEST_SESSION_ID, "player2");
+
+        // Assert
+        assertFalse(removed);
+        assertEquals(2, testSession.getPlayers().size());
+        verify(sessionStore, never()).save(any(), any());
+    }
+
+    @Test
+    void removeAwayPlayer_AwayHost_ShouldPassHostToPresentPlayer() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        Player host = testSession.getPlayers().get(0);
+        host.setHost(true);
+        host.setAway(true);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(testSession);
+
+        // Act
+        boolean removed = atomicGameService.removeAwayPlayer(TEST_SESSION_ID, "player1");
+
+        // Assert
+        assertTrue(removed);
+        assertEquals(1, testSession.getPlayers().size());
+        assertTrue(testSession.getPlayers().get(0).isHost());
+        verify(sessionStore, times(1)).save(testSession, null);
+    }
+
+    @Test
+    void handleMCQAnswerTimeout_AfterPhaseClosed_ShouldDoNothing() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        testSession.setStatus(GameSession.GameStatus.IN_PROGRESS);
+        testSession.setCurrentPhase(GameSession.QuestionPhase.ANSWERS_REVEAL);
+
+        // Act
+        atomicGameService.handleMCQAnswerTimeout(testSession);
+
+        // Assert
+        assertEquals(GameSession.QuestionPhase.ANSWERS_REVEAL, testSession.getCurrentPhase());
+        verify(sessionStore, never()).save(any(), any());
+    }
+
+    @Test
+    void expirePhase_WhenRoomStillInPhase_ShouldCloseItAndCancelDeadline() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        PhaseTimer phaseTimer = mock(PhaseTimer.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), phaseTimer, QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        testSession.setStatus(GameSession.GameStatus.IN_PROGRESS);
+        testSession.setCurrentRound(2);
+        testSession.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(testSession);
+
+        // Act
+        atomicGameService.expirePhase(TEST_SESSION_ID, 2, GameSession.QuestionPhase.MCQ_ANSWERING);
+
+        // Assert
+        assertEquals(GameSession.QuestionPhase.ANSWERS_REVEAL, testSession.getCurrentPhase());
+        verify(sessionStore, times(1)).save(testSession, null);
+        verify(phaseTimer).cancel(TEST_SESSION_ID);
+    }
+
+    @Test
+    void expirePhase_ForEarlierRound_ShouldDoNothing() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), QuestionPrefetcher.disabled(meterRegistry), meterRegistry);
+        testSession.setStatus(GameSession.GameStatus.IN_PROGRESS);
+        testSession.setCurrentRound(3);
+        testSession.setCurrentPhase(GameSession.QuestionPhase.MCQ_ANSWERING);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(testSession);
+
+        // Act
+        atomicGameService.expirePhase(TEST_SESSION_ID, 2, GameSession.QuestionPhase.MCQ_ANSWERING);
+
+        // Assert
+        assertEquals(GameSession.QuestionPhase.MCQ_ANSWERING, testSession.getCurrentPhase());
+        verify(sessionStore, never()).save(any(), any());
+    }
+
+    @Test
+    void selectDifficulty_WithPrefetchedQuestion_ShouldNotQueryQuestions() {
+        // Arrange
+        SessionStore sessionStore = mock(SessionStore.class);
+        QuestionPrefetcher questionPrefetcher = mock(QuestionPrefetcher.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameService atomicGameService = new GameService(sessionStore, questionService, playerService,
+                roomWebSocketController, categoryService, RoomCommandExecutor.inline(meterRegistry), PhaseTimer.disabled(meterRegistry), questionPrefetcher, meterRegistry);
+        testSession.setStatus(GameSession.GameStatus.IN_PROGRESS);
+        testSession.setCurrentRound(2);
+        testSession.setCurrentPhase(GameSession.QuestionPhase.DIFFICULTY_SELECTION);
+        when(sessionStore.load(TEST_SESSION_ID)).thenReturn(testSession);
+        when(questionPrefetcher.take(eq(TEST_SESSION_ID), eq(2), eq(1L), eq(3), any())).thenReturn(42L);
+
+        // Act
+        atomicGameService.selectDifficulty(TEST_SESSION_ID, "player2", 3, 1L);
+
+        // Assert
+        assertEquals(42L, testSession.getCurrentQuestionId());
+        assertTrue(testSession.getPlayedQuestions().contains(42L));
+        assertEquals(GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS, testSession.getCurrentPhase());
+        verify(questionService, never()).getRandomQuestion(anyLong(), anyInt(), any(String.class), any());
+    }
+
+    private GameSession sessionWithVersion(long version) {
+        GameSession session = new GameSession();
+        session.setSessionId(TEST_SESSION_ID);
+        session.setStatus(GameSession.GameStatus.WAITING_FOR_PLAYERS);
+        Player player = new Player();
+        player.setId("player1");
+        player.setUsername("Player 1");
+        session.getPlayers().add(player);
+        session.setVersion(version);
+        return session;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void stubSessionWrites() {
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) valueSerializer);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenAnswer(invocation -> testSession.getVersion());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifySessionWrites(int count) {
+        verify(valueSerializer, times(count)).serialize(testSession);
+        verify(redisTemplate, times(count)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of(REDIS_KEY, REDIS_KEY + ":version")), any(Object[].class));
+    }
+}
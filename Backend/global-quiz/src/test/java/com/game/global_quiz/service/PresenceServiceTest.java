@@ -0,0 +1,105 @@
+package com.game.global_quiz.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.security.Principal;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceServiceTest {
+
+    private static final Principal PLAYER = () -> "player-1";
+
+    @Mock
+    private GameService gameService;
+
+    @Captor
+    private ArgumentCaptor<BooleanSupplier> away;
+
+    private PresenceService presenceService;
+
+    @AfterEach
+    void tearDown() {
+        presenceService.destroy();
+    }
+
+    @Test
+    void disconnect_LastConnection_MarksAwayThenRemovesAfterGrace() {
+        presenceService = new PresenceService(gameService, true, 50, new SimpleMeterRegistry());
+        presenceService.onSubscribe(subscribe("ws-1", "/topic/room/ABC"));
+
+        presenceService.onDisconnect(disconnect("ws-1"));
+
+        verify(gameService, timeout(1000).atLeastOnce()).setPlayerAway(eq("ABC"), eq("player-1"), away.capture());
+        assertTrue(away.getValue().getAsBoolean());
+        verify(gameService, timeout(1000)).removeAwayPlayer("ABC", "player-1");
+    }
+
+    @Test
+    void reconnect_WithinGrace_KeepsPlayer() {
+        presenceService = new PresenceService(gameService, true, 200, new SimpleMeterRegistry());
+        presenceService.onSubscribe(subscribe("ws-1", "/topic/room/ABC"));
+        presenceService.onDisconnect(disconnect("ws-1"));
+
+        presenceService.onSubscribe(subscribe("ws-2", "/topic/room/ABC/cbor"));
+
+        verify(gameService, after(400).never()).removeAwayPlayer("ABC", "player-1");
+        verify(gameService, atLeastOnce()).setPlayerAway(eq("ABC"), eq("player-1"), away.capture());
+        // Updates queued before the reconnect read the state as they run, so none can leave the player away
+        away.getAllValues().forEach(update -> assertFalse(update.getAsBoolean()));
+    }
+
+    @Test
+    void disconnect_OtherConnectionStillOpen_LeavesPlayerPresent() {
+        presenceService = new PresenceService(gameService, true, 50, new SimpleMeterRegistry());
+        presenceService.onSubscribe(subscribe("ws-1", "/topic/room/ABC"));
+        presenceService.onSubscribe(subscribe("ws-2", "/topic/room/ABC"));
+
+        presenceService.onDisconnect(disconnect("ws-1"));
+
+        verify(gameService, after(200).atLeastOnce()).setPlayerAway(eq("ABC"), eq("player-1"), away.capture());
+        away.getAllValues().forEach(update -> assertFalse(update.getAsBoolean()));
+        verify(gameService, never()).removeAwayPlayer("ABC", "player-1");
+    }
+
+    private SessionSubscribeEvent subscribe(String sessionId, String destination) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        headers.setSessionId(sessionId);
+        headers.setDestination(destination);
+        return new SessionSubscribeEvent(this, message(headers), PLAYER);
+    }
+
+    private SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        headers.setSessionId(sessionId);
+        return new SessionDisconnectEvent(this, message(headers), sessionId, CloseStatus.NORMAL, PLAYER);
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor headers) {
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+}
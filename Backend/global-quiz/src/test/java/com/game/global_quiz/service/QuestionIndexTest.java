@@ -0,0 +1,121 @@
+package com.game.global_quiz.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.game.global_quiz.model.Category;
+import com.game.global_quiz.model.Question;
+import com.game.global_quiz.repository.QuestionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuestionIndexTest {
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuestionIndex index = new QuestionIndex(questionRepository, meterRegistry);
+
+    @Test
+    void pick_BeforeRebuild_IsNotReady() {
+        assertFalse(index.isReady());
+        assertNull(index.pick(1L, 1));
+    }
+
+    @Test
+    void rebuild_ReadsEveryPage_AndPicksOnlyFromBucket() {
+        List<Object[]> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(new Object[] {id, 1L, 2});
+        }
+        when(questionRepository.findIndexEntriesAfter(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(questionRepository.findIndexEntriesAfter(eq(10_000L), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {10_001L, 2L, 2}));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        Set<Long> picked = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            picked.add(index.pick(1L, 2));
+        }
+        assertTrue(picked.stream().allMatch(id -> id >= 1 && id <= 10_000));
+        assertTrue(picked.size() > 900);
+        assertEquals(10_001L, index.pick(2L, 2));
+        assertNull(index.pick(1L, 3));
+        assertEquals(10_001.0, meterRegistry.get("game.questions.index.size").gauge().value());
+    }
+
+    @Test
+    void writes_KeepBucketsCurrent() {
+        when(questionRepository.findIndexEntriesAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        index.rebuild();
+        Question question = question(7L, 3L, 1);
+
+        index.added(question);
+        assertEquals(7L, index.pick(3L, 1));
+
+        question.setDifficulty(2);
+        index.updated(question);
+        assertNull(index.pick(3L, 1));
+        assertEquals(7L, index.pick(3L, 2));
+
+        index.removed(7L);
+        assertNull(index.pick(3L, 2));
+    }
+
+    @Test
+    void pick_SkipsExcludedIds_AndReportsExhaustedBucket() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            rows.add(new Object[] {id, 1L, 1});
+        }
+        when(questionRepository.findIndexEntriesAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+        index.rebuild();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(57L, index.pick(1L, 1, id -> id != 57));
+        }
+        assertNull(index.pick(1L, 1, id -> true));
+    }
+
+    @Test
+    void difficultyOutOfRange_IsRejected_NotFoldedIntoAnotherBucket() {
+        when(questionRepository.findIndexEntriesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {9L, 1L, 5}, new Object[] {10L, 1L, 2}));
+
+        index.rebuild();
+
+        // (1 << 2) | 5 would land in category 1, difficulty 1
+        assertNull(index.pick(1L, 1));
+        assertEquals(10L, index.pick(1L, 2));
+        assertThrows(IllegalArgumentException.class, () -> index.pick(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.pick(1L, 4));
+        assertEquals(1.0, meterRegistry.get("game.questions.index.size").gauge().value());
+    }
+
+    private static Question question(long id, long categoryId, int difficulty) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Question question = new Question();
+        question.setId(id);
+        question.setCategory(category);
+        question.setDifficulty(difficulty);
+        return question;
+    }
+}
@@ -0,0 +1,83 @@
+package com.game.global_quiz.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.game.global_quiz.model.PlayedQuestions;
+import com.game.global_quiz.model.Question;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuestionPrefetcherTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    private final QuestionService questionService = mock(QuestionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuestionPrefetcher prefetcher =
+            new QuestionPrefetcher(questionService, true, 60_000, Runnable::run, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        when(questionService.getRandomQuestion(anyLong(), anyInt(), any(), any()))
+                .thenAnswer(invocation -> question(invocation.getArgument(0, Long.class) * 10 + invocation.getArgument(1, Integer.class)));
+    }
+
+    @Test
+    void prefetch_PicksEveryCategoryAndDifficulty_OncePerRound() {
+        prefetcher.prefetch(ROOM_ID, 2, List.of(1L, 2L), "en", new PlayedQuestions());
+        prefetcher.prefetch(ROOM_ID, 2, List.of(1L, 2L), "en", new PlayedQuestions());
+
+        verify(questionService, times(6)).getRandomQuestion(anyLong(), anyInt(), eq("en"), any());
+        assertEquals(23L, prefetcher.take(ROOM_ID, 2, 2L, 3, id -> false));
+        assertEquals(1.0, meterRegistry.get("game.questions.prefetch.picks").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void take_IsSpentByTheFirstSelection_AndBoundToItsRound() {
+        prefetcher.prefetch(ROOM_ID, 2, List.of(1L), "en", new PlayedQuestions());
+        assertNull(prefetcher.take(ROOM_ID, 3, 1L, 1, id -> false));
+        assertNull(prefetcher.take(ROOM_ID, 2, 1L, 1, id -> false));
+
+        prefetcher.prefetch(ROOM_ID, 4, List.of(1L), "en", new PlayedQuestions());
+        assertNull(prefetcher.take(ROOM_ID, 4, 1L, 1, id -> id == 11L));
+        assertEquals(3.0, meterRegistry.get("game.questions.prefetch.picks").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void onQuestionChanged_DropsThatCandidate() {
+        prefetcher.prefetch(ROOM_ID, 2, List.of(1L), "en", new PlayedQuestions());
+
+        prefetcher.onQuestionChanged(new QuestionChangedEvent(12L));
+
+        assertNull(prefetcher.take(ROOM_ID, 2, 1L, 2, id -> false));
+    }
+
+    @Test
+    void disabled_NeverPrefetches() {
+        QuestionPrefetcher disabled = QuestionPrefetcher.disabled(meterRegistry);
+
+        disabled.prefetch(ROOM_ID, 2, List.of(1L), "en", new PlayedQuestions());
+
+        assertNull(disabled.take(ROOM_ID, 2, 1L, 1, id -> false));
+    }
+
+    private static Question question(long id) {
+        Question question = new Question();
+        question.setId(id);
+        return question;
+    }
+}
@@ -0,0 +1,132 @@
+package com.game.global_quiz.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.config.RedisConfig;
+import com.game.global_quiz.model.GameSession;
+
+class GameSessionRedisSerializerTest {
+
+    // Length prefix and container count of an empty set of played questions
+    private static final int EMPTY_PLAYED_BYTES = 2;
+
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private GameSessionRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(new RedisConfig().createRedisObjectMapper());
+        serializer = new GameSessionRedisSerializer(jsonSerializer);
+    }
+
+    @Test
+    void roundTrip_PreservesSession() {
+        GameSession session = SampleSessions.midGame(8);
+
+        GameSession decoded = serializer.deserialize(serializer.serialize(session));
+
+        assertEquals(session, decoded);
+    }
+
+    @Test
+    void roundTrip_PreservesNullFields() {
+        GameSession session = SampleSessions.midGame(2);
+        session.setFinalOptions(null);
+        session.setEndTime(null);
+        session.setSelectedDifficulty(null);
+        session.getPlayers().get(0).setCurrentAnswer(null);
+
+        GameSession decoded = serializer.deserialize(serializer.serialize(session));
+
+        assertEquals(session, decoded);
+    }
+
+    @Test
+    void deserialize_ReadsLegacyJsonBlobs() {
+        GameSession session = SampleSessions.midGame(4);
+
+        GameSession decoded = serializer.deserialize(jsonSerializer.serialize(session));
+
+        assertEquals(session, decoded);
+    }
+
+    @Test
+    void deserialize_EmptyValue_ReturnsNull() {
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    @Test
+    void deserialize_UnknownSchemaVersion_Throws() {
+        byte[] bytes = {(byte) GameSessionRedisSerializer.MAGIC, 99};
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_SchemaVersion1_ReadsAsSessionVersionZero() {
+        GameSession session = SampleSessions.midGame(3);
+        session.setVersion(5);
+        byte[] current = serializer.serialize(session);
+        // A version 1 blob is the same layout without the trailing session version and played questions
+        byte[] legacy = Arrays.copyOf(current, current.length - 1 - EMPTY_PLAYED_BYTES);
+        legacy[1] = 1;
+
+        GameSession decoded = serializer.deserialize(legacy);
+
+        assertEquals(0, decoded.getVersion());
+        decoded.setVersion(5);
+        assertEquals(session, decoded);
+    }
+
+    @Test
+    void deserialize_SchemaVersion2_ReadsAsNonePlayed() {
+        GameSession session = SampleSessions.midGame(3);
+        byte[] current = serializer.serialize(session);
+        // A version 2 blob is the same layout without the trailing played questions
+        byte[] legacy = Arrays.copyOf(current, current.length - EMPTY_PLAYED_BYTES);
+        legacy[1] = 2;
+
+        GameSession decoded = serializer.deserialize(legacy);
+
+        assertTrue(decoded.getPlayedQuestions().isEmpty());
+        assertEquals(session, decoded);
+    }
+
+    @Test
+    void roundTrip_PreservesPlayedQuestions() {
+        GameSession session = SampleSessions.midGame(4);
+        session.getPlayedQuestions().add(12);
+        session.getPlayedQuestions().add(70_000);
+        session.getPlayedQuestions().add(5_000_000_000L);
+
+        GameSession decoded = serializer.deserialize(serializer.serialize(session));
+
+        assertEquals(session, decoded);
+        assertTrue(decoded.getPlayedQuestions().contains(70_000));
+        assertEquals(3, decoded.getPlayedQuestions().size());
+    }
+
+    @Test
+    void jsonRoundTrip_PreservesPlayedQuestions() {
+        GameSession session = SampleSessions.midGame(4);
+        session.getPlayedQuestions().add(12);
+        session.getPlayedQuestions().add(5_000_000_000L);
+
+        GameSession decoded = (GameSession) jsonSerializer.deserialize(jsonSerializer.serialize(session));
+
+        assertEquals(session, decoded);
+        assertTrue(decoded.getPlayedQuestions().contains(5_000_000_000L));
+        assertEquals(2, decoded.getPlayedQuestions().size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.game.global_quiz.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InMemorySessionStoreTest {
+
+    private final InMemorySessionStore store = new InMemorySessionStore(Duration.ofHours(2), new SimpleMeterRegistry());
+
+    @Test
+    void save_ThenLoad_ReturnsIndependentCopy() {
+        GameSession session = SampleSessions.midGame(4);
+        session.setVersion(0);
+
+        store.save(session);
+        GameSession loaded = store.load(session.getSessionId());
+
+        assertEquals(1, session.getVersion());
+        assertEquals(session, loaded);
+        assertNotSame(session, loaded);
+        assertEquals(1, store.countActive());
+    }
+
+    @Test
+    void save_StaleVersion_ThrowsConflict() {
+        GameSession session = SampleSessions.midGame(2);
+        session.setVersion(0);
+        store.save(session);
+        GameSession first = store.load(session.getSessionId());
+        GameSession second = store.load(session.getSessionId());
+
+        store.save(first);
+
+        assertThrows(SessionConflictException.class, () -> store.save(second));
+        assertEquals(1, second.getVersion());
+    }
+
+    @Test
+    void load_AfterTtl_ReturnsNull() {
+        InMemorySessionStore expiring = new InMemorySessionStore(Duration.ZERO, new SimpleMeterRegistry());
+        GameSession session = SampleSessions.midGame(2);
+        session.setVersion(0);
+
+        expiring.save(session);
+
+        assertNull(expiring.load(session.getSessionId()));
+        assertEquals(0, expiring.countActive());
+    }
+
+    @Test
+    void finishedSessions_AreNotCountedAsActive() {
+        GameSession session = SampleSessions.midGame(2);
+        session.setVersion(0);
+        session.setStatus(GameSession.GameStatus.FINISHED);
+
+        store.save(session);
+
+        assertEquals(0, store.countActive());
+        assertEquals(0, store.listActive(10).size());
+    }
+}
@@ -0,0 +1,115 @@
+package com.game.global_quiz.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.model.GameSession;
+
+import io.lettuce.core.api.push.PushMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class NearCachedSessionStoreTest {
+
+    @Mock
+    private SessionStore delegate;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    private NearCachedSessionStore store;
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        store = new NearCachedSessionStore(delegate, connectionFactory, 100, new SimpleMeterRegistry());
+        session = SampleSessions.midGame(4);
+        lenient().when(delegate.load(session.getSessionId())).thenReturn(session);
+    }
+
+    @Test
+    void load_TrackingActive_ServesRepeatReadsLocally() {
+        store.onTrackingEnabled();
+
+        store.load(session.getSessionId());
+        GameSession cached = store.load(session.getSessionId());
+
+        assertEquals(session, cached);
+        verify(delegate, times(1)).load(session.getSessionId());
+    }
+
+    @Test
+    void load_TrackingInactive_AlwaysReadsDelegate() {
+        store.load(session.getSessionId());
+        store.load(session.getSessionId());
+
+        verify(delegate, times(2)).load(session.getSessionId());
+    }
+
+    @Test
+    void invalidationPush_EvictsSession() {
+        store.onTrackingEnabled();
+        store.load(session.getSessionId());
+
+        store.onPushMessage(invalidation(List.of("game:" + session.getSessionId() + ":version")));
+        store.load(session.getSessionId());
+
+        verify(delegate, times(2)).load(session.getSessionId());
+    }
+
+    @Test
+    void invalidationPush_WithoutKeys_EvictsEverything() {
+        store.onTrackingEnabled();
+        store.load(session.getSessionId());
+
+        store.onPushMessage(invalidation(null));
+        store.load(session.getSessionId());
+
+        verify(delegate, times(2)).load(session.getSessionId());
+    }
+
+    @Test
+    void save_EvictsLocalCopy() {
+        store.onTrackingEnabled();
+        store.load(session.getSessionId());
+
+        store.save(session, store.snapshot(session));
+        store.load(session.getSessionId());
+
+        verify(delegate).save(any(), any());
+        verify(delegate, times(2)).load(session.getSessionId());
+    }
+
+    @Test
+    void sessionIdOf_MapsBothLayouts() {
+        assertEquals("room-1", NearCachedSessionStore.sessionIdOf("game:room-1"));
+        assertEquals("room-1", NearCachedSessionStore.sessionIdOf("game:room-1:version"));
+        assertEquals("room-1", NearCachedSessionStore.sessionIdOf("room:room-1"));
+        assertNull(NearCachedSessionStore.sessionIdOf("rooms:active"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PushMessage invalidation(List<String> keys) {
+        PushMessage message = mock(PushMessage.class);
+        when(message.getType()).thenReturn("invalidate");
+        when(message.getContent(any())).thenReturn(Arrays.asList("invalidate", keys));
+        return message;
+    }
+}
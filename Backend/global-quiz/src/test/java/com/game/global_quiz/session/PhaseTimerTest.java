@@ -0,0 +1,125 @@
+package com.game.global_quiz.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PhaseTimerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<String> fired = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch firstFired = new CountDownLatch(1);
+    private PhaseTimer phaseTimer;
+
+    @AfterEach
+    void tearDown() {
+        phaseTimer.destroy();
+    }
+
+    @Test
+    void schedule_DeadlinePasses_RunsHandlerOnce() throws Exception {
+        phaseTimer = timer(Optional.empty());
+
+        phaseTimer.schedule("ABC", "MCQ_ANSWERING:1", 20);
+
+        assertTrue(firstFired.await(1, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals("ABC/MCQ_ANSWERING:1", String.join(",", fired));
+        assertEquals(1.0, meterRegistry.get("game.rooms.timers.fired").counter().count());
+        assertEquals(1, meterRegistry.get("game.rooms.timers.lag").tag("source", "local").timer().count());
+        assertEquals(0.0, meterRegistry.get("game.rooms.timers.pending").gauge().value());
+    }
+
+    @Test
+    void schedule_SameStage_KeepsPendingDeadline() throws Exception {
+        phaseTimer = timer(Optional.empty());
+
+        phaseTimer.schedule("ABC", "MCQ_ANSWERING:1", 50);
+        phaseTimer.schedule("ABC", "MCQ_ANSWERING:1", 500);
+
+        assertTrue(firstFired.await(300, TimeUnit.MILLISECONDS));
+        assertEquals("ABC/MCQ_ANSWERING:1", String.join(",", fired));
+    }
+
+    @Test
+    void schedule_NewStage_ReplacesPendingDeadline() throws Exception {
+        phaseTimer = timer(Optional.empty());
+
+        phaseTimer.schedule("ABC", "COLLECTING_WRONG_ANSWERS:1", 50);
+        phaseTimer.schedule("ABC", "MCQ_ANSWERING:1", 50);
+
+        assertTrue(firstFired.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals("ABC/MCQ_ANSWERING:1", String.join(",", fired));
+    }
+
+    @Test
+    void cancel_BeforeDeadline_HandlerNeverRuns() throws Exception {
+        phaseTimer = timer(Optional.empty());
+
+        phaseTimer.schedule("ABC", "MCQ_ANSWERING:1", 50);
+        phaseTimer.cancel("ABC");
+
+        assertFalse(firstFired.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0.0, meterRegistry.get("game.rooms.timers.pending").gauge().value());
+    }
+
+    @Test
+    void expire_StageClaimedElsewhere_HandlerNeverRuns() throws Exception {
+        PhaseDeadlines durable = mock(PhaseDeadlines.class);
+        when(durable.claim("ABC", "MCQ_ANSWERING:1")).thenReturn(false);
+        phaseTimer = timer(Optional.of(durable));
+
+        phaseTimer.schedule("ABC", "MCQ_ANSWERING:1", 20);
+
+        verify(durable).schedule(eq("ABC"), eq("MCQ_ANSWERING:1"), anyLong());
+        verify(durable, timeout(1000)).claim("ABC", "MCQ_ANSWERING:1");
+        assertFalse(firstFired.await(100, TimeUnit.MILLISECONDS));
+        verify(durable, never()).complete("ABC", "MCQ_ANSWERING:1");
+    }
+
+    @Test
+    void recover_StageFromAnotherNode_RunsHandlerAndCompletes() throws Exception {
+        PhaseDeadlines durable = mock(PhaseDeadlines.class);
+        phaseTimer = timer(Optional.of(durable));
+        ArgumentCaptor<PhaseDeadlines.Receiver> receiver = ArgumentCaptor.forClass(PhaseDeadlines.Receiver.class);
+        verify(durable).setReceiver(receiver.capture());
+
+        receiver.getValue().expire("ABC", "COLLECTING_WRONG_ANSWERS:2", System.currentTimeMillis() - 3000);
+
+        assertTrue(firstFired.await(1, TimeUnit.SECONDS));
+        verify(durable, timeout(1000)).complete("ABC", "COLLECTING_WRONG_ANSWERS:2");
+        verify(durable, after(50).never()).claim("ABC", "COLLECTING_WRONG_ANSWERS:2");
+        assertTrue(meterRegistry.get("game.rooms.timers.lag").tag("source", "recovered").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 3000);
+    }
+
+    private PhaseTimer timer(Optional<PhaseDeadlines> durable) {
+        PhaseTimer timer = new PhaseTimer(true, 10, durable, meterRegistry);
+        timer.setHandler((roomId, stage) -> {
+            fired.add(roomId + "/" + stage);
+            firstFired.countDown();
+        });
+        return timer;
+    }
+}
@@ -0,0 +1,139 @@
+package com.game.global_quiz.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.model.GameSession;
+import com.game.global_quiz.model.Player;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RedisHashSessionStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ActiveRoomIndex activeRoomIndex;
+
+    private RedisHashSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisHashSessionStore(redisTemplate, activeRoomIndex, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void fields_RoundTripSession() {
+        GameSession session = SampleSessions.midGame(8);
+        session.getPlayedQuestions().add(3);
+        session.getPlayedQuestions().add(90_001);
+
+        GameSession decoded = store.fromFields(session.getSessionId(), store.toFields(session));
+
+        assertEquals(session, decoded);
+    }
+
+    @Test
+    void save_WithSnapshot_SendsOnlyChangedFields() {
+        GameSession session = SampleSessions.midGame(4);
+        GameSession snapshot = store.snapshot(session);
+        Player player = session.getPlayers().get(1);
+        player.setScore(player.getScore() + 2);
+        player.setHasAnswered(true);
+        List<Object> args = stubSaveScript(38L);
+
+        store.save(session, snapshot);
+
+        assertEquals(List.of("37", "7200", "0",
+                "1", RedisHashSessionStore.playerField(player.getId(), RedisHashSessionStore.ANSWERED), "1",
+                "0",
+                "1", RedisHashSessionStore.playerField(player.getId(), RedisHashSessionStore.SCORE), "2"), args);
+        assertEquals(38L, session.getVersion());
+        verify(activeRoomIndex).touch(session.getSessionId());
+    }
+
+    @Test
+    void save_WithoutSnapshot_RewritesHash() {
+        GameSession session = SampleSessions.midGame(2);
+        List<Object> args = stubSaveScript(38L);
+
+        store.save(session);
+
+        assertEquals("1", args.get(2));
+        assertEquals(String.valueOf(store.toFields(session).size() - 1), args.get(3));
+    }
+
+    @Test
+    void save_StaleVersion_ThrowsConflict() {
+        GameSession session = SampleSessions.midGame(2);
+        stubSaveScript(-1L);
+
+        assertThrows(SessionConflictException.class, () -> store.save(session, store.snapshot(session)));
+        assertEquals(37L, session.getVersion());
+        verify(activeRoomIndex, never()).touch(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordAnswer_ParsesOutcomeAndSession() {
+        GameSession session = SampleSessions.midGame(2);
+        List<String> reply = new ArrayList<>();
+        reply.add("ALL_ANSWERED");
+        store.toFields(session).forEach((field, value) -> {
+            reply.add(field);
+            reply.add(value);
+        });
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(reply);
+
+        AnswerResult result = store.recordAnswer(session.getSessionId(), session.getPlayers().get(0).getId(),
+                GameSession.QuestionPhase.MCQ_ANSWERING, "Canberra");
+
+        assertEquals(AnswerResult.Outcome.ALL_ANSWERED, result.outcome());
+        assertEquals(session, result.session());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordAnswer_WrongPhase_ReturnsNoSession() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("WRONG_PHASE"));
+
+        AnswerResult result = store.recordAnswer("room-1", "player-1", GameSession.QuestionPhase.COLLECTING_WRONG_ANSWERS, "Lyon");
+
+        assertEquals(AnswerResult.Outcome.WRONG_PHASE, result.outcome());
+        assertNull(result.session());
+    }
+
+    // Returns the script arguments (after the script and the key list) once save has run
+    @SuppressWarnings("unchecked")
+    private List<Object> stubSaveScript(long result) {
+        List<Object> args = new ArrayList<>();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            args.addAll(Arrays.asList(arguments).subList(2, arguments.length));
+            return result;
+        });
+        return args;
+    }
+}
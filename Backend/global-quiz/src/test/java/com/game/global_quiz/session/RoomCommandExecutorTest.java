@@ -0,0 +1,88 @@
+package com.game.global_quiz.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.game.global_quiz.benchmark.SampleSessions;
+import com.game.global_quiz.model.GameSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RoomCommandExecutorTest {
+
+    private final RoomCommandExecutor executor = new RoomCommandExecutor(true, 600_000, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void commandsForOneRoom_NeverOverlap() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> submissions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            submissions.add(CompletableFuture.runAsync(() -> executor.execute("room-1", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.yield();
+                running.decrementAndGet();
+            })));
+        }
+
+        submissions.forEach(CompletableFuture::join);
+
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void load_ReusesCommittedStateBetweenCommands() {
+        GameSession session = SampleSessions.midGame(2);
+        AtomicInteger storeLoads = new AtomicInteger();
+
+        executor.execute(session.getSessionId(), () -> {
+            GameSession loaded = executor.load(session.getSessionId(), id -> {
+                storeLoads.incrementAndGet();
+                return session;
+            });
+            loaded.setCurrentRound(7);
+            executor.committed(loaded);
+        });
+        GameSession second = executor.execute(session.getSessionId(),
+                () -> executor.load(session.getSessionId(), id -> {
+                    storeLoads.incrementAndGet();
+                    return session;
+                }));
+
+        assertEquals(1, storeLoads.get());
+        assertEquals(7, second.getCurrentRound());
+    }
+
+    @Test
+    void failedCommand_DropsStateAndRethrows() {
+        GameSession session = SampleSessions.midGame(2);
+        AtomicInteger storeLoads = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(session.getSessionId(), () -> {
+            executor.load(session.getSessionId(), id -> {
+                storeLoads.incrementAndGet();
+                return session;
+            });
+            throw new IllegalStateException("boom");
+        }));
+        executor.execute(session.getSessionId(), () -> executor.load(session.getSessionId(), id -> {
+            storeLoads.incrementAndGet();
+            return session;
+        }));
+
+        assertEquals(2, storeLoads.get());
+    }
+}
@@ -1,21 +1,111 @@
 import { useEffect } from 'react';
 import { Client } from '@stomp/stompjs';
+import type { StompSubscription } from '@stomp/stompjs';
 import SockJS from 'sockjs-client/dist/sockjs.js';
+import { applyPatch } from '../utils/jsonPatch';
+import type { PatchOperation } from '../utils/jsonPatch';
+
+// Frames on the room topic: a full snapshot, or a patch from baseVersion to version
+interface RoomUpdate {
+  type: 'SNAPSHOT' | 'PATCH';
+  version: number;
+  baseVersion?: number;
+  state?: any;
+  ops?: PatchOperation[];
+}
+
+// Frames on /user/queue/room: this player's own answers, hidden from the topic until the reveal
+interface PlayerUpdate {
+  playerId: string;
+  version: number;
+  score: number;
+  scoreDelta: number;
+  currentAnswer?: string;
+  wrongAnswerSubmitted?: string;
+}
 
 export function useRoomWebSocket(roomId: string, onMessage: (data: any) => void) {
   useEffect(() => {
     const socket = new SockJS('http://localhost:8081/ws'); // Adjust port if needed
+    const playerId = localStorage.getItem('playerId');
+    const playerToken = localStorage.getItem('playerToken');
     const client = new Client({
       webSocketFactory: () => socket as any,
+      connectHeaders: playerId && playerToken ? { playerId, playerToken } : {},
       debug: (str) => console.log(str),
       reconnectDelay: 5000,
     });
 
+    let state: any = null;
+    let version = -1;
+    let resync: StompSubscription | null = null;
+    let mine: PlayerUpdate | null = null;
+
+    // The public view with this player's own answers filled in
+    const publish = () => {
+      if (state === null) return;
+      if (!mine) {
+        onMessage(state);
+        return;
+      }
+      const own = mine;
+      onMessage({
+        ...state,
+        players: state.players?.map((player: any) => player.id === own.playerId
+          ? {
+              ...player,
+              currentAnswer: player.currentAnswer ?? own.currentAnswer,
+              wrongAnswerSubmitted: player.wrongAnswerSubmitted ?? own.wrongAnswerSubmitted,
+            }
+          : player),
+      });
+    };
+
+    const applyPlayerUpdate = (update: PlayerUpdate | null) => {
+      if (!update || (mine && update.version < mine.version)) return;
+      mine = update;
+      publish();
+    };
+
+    const applySnapshot = (update: RoomUpdate) => {
+      if (update.version < version) return;
+      state = update.state;
+      version = update.version;
+      publish();
+    };
+
+    // Asks the server for the current state once; used on join and after a missed patch
+    const requestSnapshot = () => {
+      if (resync) return;
+      resync = client.subscribe(`/app/room/${roomId}`, (message) => {
+        resync?.unsubscribe();
+        resync = null;
+        applySnapshot(JSON.parse(message.body));
+      });
+    };
+
     client.onConnect = () => {
+      resync = null;
       client.subscribe(`/topic/room/${roomId}`, (message) => {
-        const data = JSON.parse(message.body);
-        onMessage(data);
+        const update: RoomUpdate = JSON.parse(message.body);
+        if (update.type === 'SNAPSHOT') {
+          applySnapshot(update);
+        } else if (state !== null && update.baseVersion === version) {
+          state = applyPatch(state, update.ops ?? []);
+          version = update.version;
+          publish();
+        } else if (update.version > version) {
+          requestSnapshot();
+        }
       });
+      requestSnapshot();
+      if (playerId) {
+        client.subscribe('/user/queue/room', (message) => applyPlayerUpdate(JSON.parse(message.body)));
+        const own = client.subscribe(`/app/room/${roomId}/me`, (message) => {
+          own.unsubscribe();
+          applyPlayerUpdate(message.body ? JSON.parse(message.body) : null);
+        });
+      }
     };
 
     client.activate();
@@ -24,4 +114,4 @@ export function useRoomWebSocket(roomId: string, onMessage: (data: any) => void)
       client.deactivate();
     };
   }, [roomId, onMessage]);
-} 
\ No newline at end of file
+}
@@ -84,9 +84,10 @@ const Home: React.FC = () => {
       };
 
       const response = await axios.post('http://localhost:8081/api/rooms', request);
-      const { session, playerId } = response.data;
-      // Store player ID in localStorage
+      const { session, playerId, playerToken } = response.data;
+      // Store player ID and the token that proves it in localStorage
       localStorage.setItem('playerId', playerId);
+      localStorage.setItem('playerToken', playerToken);
       navigate(`/room/${session.sessionId}`);
     } catch (err) {
       console.error('Error creating room:', err);
@@ -118,9 +119,10 @@ const Home: React.FC = () => {
       };
 
       const response = await axios.post(`http://localhost:8081/api/rooms/${roomCode}/join`, request);
-      const { session, playerId } = response.data;
-      // Store player ID in localStorage
+      const { session, playerId, playerToken } = response.data;
+      // Store player ID and the token that proves it in localStorage
       localStorage.setItem('playerId', playerId);
+      localStorage.setItem('playerToken', playerToken);
       navigate(`/room/${roomCode}`);
     } catch (err) {
       console.error('Error joining room:', err);
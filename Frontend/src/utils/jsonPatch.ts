@@ -0,0 +1,32 @@
+// Minimal RFC 6902 support for the add/remove/replace operations the server emits
+export interface PatchOperation {
+  op: 'add' | 'remove' | 'replace';
+  path: string;
+  value?: any;
+}
+
+const unescape = (token: string) => token.replace(/~1/g, '/').replace(/~0/g, '~');
+
+export function applyPatch<T>(document: T, ops: PatchOperation[]): T {
+  let result: any = structuredClone(document);
+  for (const { op, path, value } of ops) {
+    if (path === '') {
+      result = op === 'remove' ? null : structuredClone(value);
+      continue;
+    }
+    const tokens = path.split('/').slice(1).map(unescape);
+    const last = tokens.pop() as string;
+    const parent = tokens.reduce((node, token) => node[token], result);
+    if (Array.isArray(parent)) {
+      const index = last === '-' ? parent.length : Number(last);
+      if (op === 'remove') parent.splice(index, 1);
+      else if (op === 'add') parent.splice(index, 0, value);
+      else parent[index] = value;
+    } else if (op === 'remove') {
+      delete parent[last];
+    } else {
+      parent[last] = value;
+    }
+  }
+  return result;
+}